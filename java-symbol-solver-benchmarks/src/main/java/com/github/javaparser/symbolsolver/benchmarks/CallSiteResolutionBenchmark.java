@@ -0,0 +1,116 @@
+/*
+ * Copyright 2016 Federico Tomassetti
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.github.javaparser.symbolsolver.benchmarks;
+
+import com.github.javaparser.JavaParser;
+import com.github.javaparser.ast.CompilationUnit;
+import com.github.javaparser.ast.expr.Expression;
+import com.github.javaparser.ast.expr.LambdaExpr;
+import com.github.javaparser.ast.expr.MethodCallExpr;
+import com.github.javaparser.ast.expr.MethodReferenceExpr;
+import com.github.javaparser.ast.expr.NameExpr;
+import com.github.javaparser.ast.expr.ObjectCreationExpr;
+import com.github.javaparser.symbolsolver.javaparser.Navigator;
+import com.github.javaparser.symbolsolver.javaparsermodel.JavaParserFacade;
+import com.github.javaparser.symbolsolver.model.resolution.TypeSolver;
+import com.github.javaparser.symbolsolver.resolution.typesolvers.ReflectionTypeSolver;
+import org.openjdk.jmh.annotations.*;
+import org.openjdk.jmh.infra.Blackhole;
+
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Solving method and constructor calls whose arguments have already been typed, so that what is measured is the
+ * resolution of the call site itself. It is meant to be run with the GC profiler, to check the allocation rate.
+ * <p>
+ * The facade keeps the symbols solved in the nodes, so its caches are cleared before each invocation and only the
+ * arguments and the scopes which are not names are typed again: the call sites are then solved without the help of the cache.
+ *
+ * @author Federico Tomassetti
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+@State(Scope.Benchmark)
+public class CallSiteResolutionBenchmark {
+
+    private static final String CODE = "import java.util.*;\n" +
+            "class A {\n" +
+            "    void calls(String s, int i, List<String> list, StringBuilder sb) {\n" +
+            "        String.format(\"%s %d\", s, i);\n" +
+            "        sb.append(s).append(i).append('c');\n" +
+            "        list.add(s);\n" +
+            "        list.subList(0, i).size();\n" +
+            "        Math.max(i, 2);\n" +
+            "        s.substring(1, 2).indexOf(s, i);\n" +
+            "        list.forEach(e -> sb.append(e));\n" +
+            "        list.sort(String::compareTo);\n" +
+            "        new StringBuilder(s);\n" +
+            "        new ArrayList<String>(list);\n" +
+            "    }\n" +
+            "}\n";
+
+    private TypeSolver typeSolver;
+    private JavaParserFacade facade;
+    private List<MethodCallExpr> methodCalls;
+    private List<ObjectCreationExpr> objectCreations;
+
+    @Setup
+    public void setup() {
+        typeSolver = new ReflectionTypeSolver();
+        facade = JavaParserFacade.get(typeSolver);
+        CompilationUnit cu = JavaParser.parse(CODE);
+        methodCalls = Navigator.findAllNodesOfGivenClass(cu, MethodCallExpr.class);
+        objectCreations = Navigator.findAllNodesOfGivenClass(cu, ObjectCreationExpr.class);
+    }
+
+    @Setup(Level.Invocation)
+    public void typeArguments() {
+        JavaParserFacade.clearCaches(typeSolver);
+        for (MethodCallExpr methodCall : methodCalls) {
+            // A name used as scope can be a type, like String in String.format, which cannot be typed as an expression
+            methodCall.getScope().filter(scope -> !(scope instanceof NameExpr)).ifPresent(this::typeArgument);
+            methodCall.getArguments().forEach(this::typeArgument);
+        }
+        for (ObjectCreationExpr objectCreation : objectCreations) {
+            objectCreation.getArguments().forEach(this::typeArgument);
+        }
+    }
+
+    // Lambdas and method references are typed while solving the call site
+    private void typeArgument(Expression argument) {
+        if (!(argument instanceof LambdaExpr) && !(argument instanceof MethodReferenceExpr)) {
+            facade.getType(argument);
+        }
+    }
+
+    @Benchmark
+    public void solveMethodCalls(Blackhole blackhole) {
+        for (MethodCallExpr methodCall : methodCalls) {
+            blackhole.consume(facade.solve(methodCall));
+        }
+    }
+
+    @Benchmark
+    public void solveObjectCreations(Blackhole blackhole) {
+        for (ObjectCreationExpr objectCreation : objectCreations) {
+            blackhole.consume(facade.solve(objectCreation));
+        }
+    }
+}
@@ -0,0 +1,101 @@
+/*
+ * Copyright 2016 Federico Tomassetti
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.github.javaparser.symbolsolver.benchmarks;
+
+import com.github.javaparser.symbolsolver.model.resolution.TypeSolver;
+import com.github.javaparser.symbolsolver.resolution.typesolvers.CombinedTypeSolver;
+import com.github.javaparser.symbolsolver.resolution.typesolvers.JavaParserTypeSolver;
+import com.github.javaparser.symbolsolver.resolution.typesolvers.ReflectionTypeSolver;
+
+import java.io.File;
+
+/**
+ * The sources used by the benchmarks: the corpora of the tests in java-symbol-solver-testing.
+ * <p>
+ * Their location is taken from the system property jss.resources, which is set by the jmh task, or it is
+ * resolved relatively to the root of the project.
+ *
+ * @author Federico Tomassetti
+ */
+final class Corpora {
+
+    /**
+     * The sources of an old version of JavaParser.
+     */
+    static final String JAVAPARSER_SRC = "javaparser_src";
+
+    /**
+     * The sources of a more recent version of JavaParser, after the project moved to Java 8.
+     */
+    static final String JAVAPARSER_NEW_SRC = "javaparser_new_src";
+
+    private Corpora() {
+        // prevent instantiation
+    }
+
+    static File resources() {
+        String resources = System.getProperty("jss.resources", "java-symbol-solver-testing/src/test/resources");
+        File dir = new File(resources);
+        if (!dir.isDirectory()) {
+            throw new IllegalStateException("Unable to find the resources of the benchmarks in " + dir.getAbsolutePath()
+                    + ", set the system property jss.resources");
+        }
+        return dir;
+    }
+
+    /**
+     * The directory containing the sources to analyze.
+     */
+    static File sources(String corpus) {
+        switch (corpus) {
+            case JAVAPARSER_SRC:
+                return new File(resources(), "javaparser_src/proper_source");
+            case JAVAPARSER_NEW_SRC:
+                return new File(resources(), "javaparser_new_src/javaparser-core");
+            default:
+                throw new IllegalArgumentException(corpus);
+        }
+    }
+
+    /**
+     * The directory containing the generated sources the corpus depends on.
+     */
+    static File generatedSources(String corpus) {
+        switch (corpus) {
+            case JAVAPARSER_SRC:
+                return new File(resources(), "javaparser_src/generated");
+            case JAVAPARSER_NEW_SRC:
+                return new File(resources(), "javaparser_new_src/javaparser-generated-sources");
+            default:
+                throw new IllegalArgumentException(corpus);
+        }
+    }
+
+    /**
+     * A new type solver for the corpus, configured as in the tests analyzing it.
+     */
+    static TypeSolver typeSolver(String corpus) {
+        CombinedTypeSolver combinedTypeSolver = new CombinedTypeSolver();
+        combinedTypeSolver.add(new ReflectionTypeSolver());
+        combinedTypeSolver.add(new JavaParserTypeSolver(sources(corpus)));
+        combinedTypeSolver.add(new JavaParserTypeSolver(generatedSources(corpus)));
+        return combinedTypeSolver;
+    }
+
+    static File javaParserJar() {
+        return new File(resources(), "javaparser-core-3.0.0-alpha.2.jar");
+    }
+}
@@ -0,0 +1,92 @@
+/*
+ * Copyright 2016 Federico Tomassetti
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.github.javaparser.symbolsolver.benchmarks;
+
+import com.github.javaparser.JavaParser;
+import com.github.javaparser.ast.body.ClassOrInterfaceDeclaration;
+import com.github.javaparser.symbolsolver.javaparsermodel.JavaParserFactory;
+import com.github.javaparser.symbolsolver.model.declarations.MethodDeclaration;
+import com.github.javaparser.symbolsolver.model.declarations.ReferenceTypeDeclaration;
+import com.github.javaparser.symbolsolver.model.resolution.TypeSolver;
+import com.github.javaparser.symbolsolver.resolution.typesolvers.ReflectionTypeSolver;
+import org.openjdk.jmh.annotations.*;
+
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Storing the declarations of large classes, and of their methods, in hash based collections: the cost of equals
+ * and hashCode should not depend on the size of the AST.
+ *
+ * @author Federico Tomassetti
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+@State(Scope.Benchmark)
+public class DeclarationsBenchmark {
+
+    @Param({"10", "100", "1000"})
+    public int methods;
+
+    private TypeSolver typeSolver;
+    private List<ClassOrInterfaceDeclaration> classes;
+    private ReferenceTypeDeclaration largeClass;
+
+    @Setup
+    public void setup() {
+        typeSolver = new ReflectionTypeSolver();
+        classes = new ArrayList<>();
+        for (int i = 0; i < 20; i++) {
+            classes.add(JavaParser.parse(largeClass("C" + i, methods)).getClassByName("C" + i).get());
+        }
+        largeClass = JavaParserFactory.toTypeDeclaration(classes.get(0), typeSolver);
+    }
+
+    private static String largeClass(String name, int methods) {
+        StringBuilder code = new StringBuilder("class ").append(name).append(" {\n");
+        for (int i = 0; i < methods; i++) {
+            code.append("    int m").append(i).append("(int a, String b) {\n")
+                    .append("        int c = a * ").append(i).append(";\n")
+                    .append("        if (b.length() > c) { return b.indexOf('x') + c; }\n")
+                    .append("        return c;\n")
+                    .append("    }\n");
+        }
+        return code.append("}\n").toString();
+    }
+
+    @Benchmark
+    public Set<ReferenceTypeDeclaration> typeDeclarationsInSet() {
+        Set<ReferenceTypeDeclaration> declarations = new HashSet<>();
+        for (ClassOrInterfaceDeclaration node : classes) {
+            declarations.add(JavaParserFactory.toTypeDeclaration(node, typeSolver));
+        }
+        for (ClassOrInterfaceDeclaration node : classes) {
+            declarations.contains(JavaParserFactory.toTypeDeclaration(node, typeSolver));
+        }
+        return declarations;
+    }
+
+    @Benchmark
+    public Set<MethodDeclaration> declaredMethods() {
+        return largeClass.getDeclaredMethods();
+    }
+}
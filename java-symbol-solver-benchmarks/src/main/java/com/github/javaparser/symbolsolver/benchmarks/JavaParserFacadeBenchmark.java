@@ -0,0 +1,119 @@
+/*
+ * Copyright 2016 Federico Tomassetti
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.github.javaparser.symbolsolver.benchmarks;
+
+import com.github.javaparser.JavaParser;
+import com.github.javaparser.ast.CompilationUnit;
+import com.github.javaparser.ast.Node;
+import com.github.javaparser.ast.body.VariableDeclarator;
+import com.github.javaparser.ast.expr.Expression;
+import com.github.javaparser.ast.expr.MethodCallExpr;
+import com.github.javaparser.ast.stmt.Statement;
+import com.github.javaparser.symbolsolver.javaparsermodel.JavaParserFacade;
+import com.github.javaparser.symbolsolver.model.resolution.TypeSolver;
+import org.openjdk.jmh.annotations.*;
+import org.openjdk.jmh.infra.Blackhole;
+
+import java.io.File;
+import java.io.FileNotFoundException;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+import static com.github.javaparser.symbolsolver.javaparser.Navigator.getParentNode;
+
+/**
+ * Typing all the expressions and solving all the method calls of a file.
+ * <p>
+ * The caches of the facade are cleared at each invocation, so that all the nodes are solved again, while the
+ * type solvers keep what they have already found, as it happens when different files of the same project are
+ * analyzed. Only the nodes which can be solved are considered.
+ *
+ * @author Federico Tomassetti
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+@State(Scope.Benchmark)
+public class JavaParserFacadeBenchmark {
+
+    @Param({"com/github/javaparser/ast/CompilationUnit.java", "com/github/javaparser/ast/body/ClassOrInterfaceDeclaration.java"})
+    public String file;
+
+    private TypeSolver typeSolver;
+    private JavaParserFacade facade;
+    private List<Expression> expressions = new ArrayList<>();
+    private List<MethodCallExpr> methodCalls = new ArrayList<>();
+
+    @Setup
+    public void setup() throws FileNotFoundException {
+        typeSolver = Corpora.typeSolver(Corpora.JAVAPARSER_NEW_SRC);
+        facade = JavaParserFacade.get(typeSolver);
+        CompilationUnit cu = JavaParser.parse(new File(Corpora.sources(Corpora.JAVAPARSER_NEW_SRC), file));
+        collect(cu);
+        JavaParserFacade.clearCaches(typeSolver);
+    }
+
+    private void collect(Node node) {
+        if (node instanceof Expression) {
+            Node parent = getParentNode(node);
+            if ((parent instanceof Statement || parent instanceof VariableDeclarator) && isTypeSolved(node)) {
+                expressions.add((Expression) node);
+            }
+        }
+        if (node instanceof MethodCallExpr && isCallSolved((MethodCallExpr) node)) {
+            methodCalls.add((MethodCallExpr) node);
+        }
+        for (Node child : node.getChildNodes()) {
+            collect(child);
+        }
+    }
+
+    private boolean isTypeSolved(Node node) {
+        try {
+            facade.getType(node);
+            return true;
+        } catch (RuntimeException e) {
+            return false;
+        }
+    }
+
+    private boolean isCallSolved(MethodCallExpr node) {
+        try {
+            return facade.solve(node).isSolved();
+        } catch (RuntimeException e) {
+            return false;
+        }
+    }
+
+    @Benchmark
+    public void getType(Blackhole blackhole) {
+        JavaParserFacade.clearCaches(typeSolver);
+        for (Expression expression : expressions) {
+            blackhole.consume(facade.getType(expression));
+        }
+    }
+
+    @Benchmark
+    public void solveMethodCalls(Blackhole blackhole) {
+        JavaParserFacade.clearCaches(typeSolver);
+        for (MethodCallExpr methodCall : methodCalls) {
+            blackhole.consume(facade.solve(methodCall));
+        }
+    }
+}
@@ -0,0 +1,53 @@
+/*
+ * Copyright 2016 Federico Tomassetti
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.github.javaparser.symbolsolver.benchmarks;
+
+import com.github.javaparser.symbolsolver.SourceFileInfoExtractor;
+import com.github.javaparser.symbolsolver.javaparsermodel.JavaParserFacade;
+import org.openjdk.jmh.annotations.*;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Solving all the expressions and method calls of a whole project, starting each time from new type solvers.
+ *
+ * @author Federico Tomassetti
+ */
+@BenchmarkMode(Mode.SingleShotTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 3)
+@Measurement(iterations = 5)
+@Fork(1)
+@State(Scope.Benchmark)
+public class ProjectResolutionBenchmark {
+
+    @Param({Corpora.JAVAPARSER_SRC, Corpora.JAVAPARSER_NEW_SRC})
+    public String corpus;
+
+    @TearDown(Level.Iteration)
+    public void clearFacades() {
+        JavaParserFacade.clearInstances();
+    }
+
+    @Benchmark
+    public long resolveProject() {
+        SourceFileInfoExtractor extractor = new SourceFileInfoExtractor();
+        extractor.setTypeSolver(Corpora.typeSolver(corpus));
+        return extractor.resolutionRecords(Corpora.sources(corpus))
+                .filter(SourceFileInfoExtractor.ResolutionRecord::isSolved)
+                .count();
+    }
+}
@@ -0,0 +1,88 @@
+/*
+ * Copyright 2016 Federico Tomassetti
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.github.javaparser.symbolsolver.benchmarks;
+
+import com.github.javaparser.symbolsolver.model.declarations.ReferenceTypeDeclaration;
+import com.github.javaparser.symbolsolver.model.resolution.SymbolReference;
+import com.github.javaparser.symbolsolver.resolution.typesolvers.CombinedTypeSolver;
+import com.github.javaparser.symbolsolver.resolution.typesolvers.JarTypeSolver;
+import com.github.javaparser.symbolsolver.resolution.typesolvers.ReflectionTypeSolver;
+import org.openjdk.jmh.annotations.*;
+
+import java.io.IOException;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Solving types through a CombinedTypeSolver, either found in the JRE, found in a jar or not found at all, and
+ * indexing a jar.
+ *
+ * @author Federico Tomassetti
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+@State(Scope.Benchmark)
+public class TypeSolverBenchmark {
+
+    private CombinedTypeSolver typeSolver;
+
+    @Setup
+    public void setup() throws IOException {
+        typeSolver = new CombinedTypeSolver(new ReflectionTypeSolver(),
+                new JarTypeSolver(Corpora.javaParserJar().getAbsolutePath()));
+    }
+
+    @Benchmark
+    public SymbolReference<ReferenceTypeDeclaration> tryToSolveTypeInJre() {
+        return typeSolver.tryToSolveType("java.util.List");
+    }
+
+    @Benchmark
+    public SymbolReference<ReferenceTypeDeclaration> tryToSolveTypeInJar() {
+        return typeSolver.tryToSolveType("com.github.javaparser.ast.CompilationUnit");
+    }
+
+    @Benchmark
+    public SymbolReference<ReferenceTypeDeclaration> tryToSolveMissingType() {
+        return typeSolver.tryToSolveType("com.github.javaparser.ast.DoesNotExist");
+    }
+
+    /**
+     * The solver built by each invocation of jarTypeSolverConstruction, closed after the invocation so that the
+     * jar files it opens are not leaked.
+     */
+    @State(Scope.Thread)
+    public static class ConstructedSolver {
+        private JarTypeSolver solver;
+
+        @TearDown(Level.Invocation)
+        public void close() throws IOException {
+            if (solver != null) {
+                solver.close();
+                solver = null;
+            }
+        }
+    }
+
+    @Benchmark
+    @OutputTimeUnit(TimeUnit.MICROSECONDS)
+    public JarTypeSolver jarTypeSolverConstruction(ConstructedSolver constructed) throws IOException {
+        constructed.solver = new JarTypeSolver(Corpora.javaParserJar().getAbsolutePath());
+        return constructed.solver;
+    }
+}
@@ -18,15 +18,13 @@ package com.github.javaparser.symbolsolver;
 
 import com.github.javaparser.JavaParser;
 import com.github.javaparser.ParseException;
+import com.github.javaparser.Range;
 import com.github.javaparser.ast.CompilationUnit;
 import com.github.javaparser.ast.Node;
-import com.github.javaparser.ast.PackageDeclaration;
 import com.github.javaparser.ast.body.ClassOrInterfaceDeclaration;
-import com.github.javaparser.ast.body.MethodDeclaration;
 import com.github.javaparser.ast.body.VariableDeclarator;
 import com.github.javaparser.ast.expr.Expression;
 import com.github.javaparser.ast.expr.MethodCallExpr;
-import com.github.javaparser.ast.ImportDeclaration;
 import com.github.javaparser.ast.stmt.Statement;
 import com.github.javaparser.symbolsolver.javaparsermodel.JavaParserFacade;
 import com.github.javaparser.symbolsolver.model.declarations.TypeDeclaration;
@@ -35,11 +33,16 @@ import com.github.javaparser.symbolsolver.model.resolution.TypeSolver;
 import com.github.javaparser.symbolsolver.model.typesystem.ReferenceType;
 import com.github.javaparser.symbolsolver.model.typesystem.Type;
 
+import java.io.ByteArrayOutputStream;
 import java.io.File;
 import java.io.IOException;
 import java.io.PrintStream;
+import java.util.ArrayList;
 import java.util.LinkedList;
 import java.util.List;
+import java.util.Optional;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.stream.Stream;
 
 import static com.github.javaparser.symbolsolver.javaparser.Navigator.getParentNode;
 
@@ -52,9 +55,9 @@ public class SourceFileInfoExtractor {
 
     private TypeSolver typeSolver;
 
-    private int ok = 0;
-    private int ko = 0;
-    private int unsupported = 0;
+    private AtomicInteger ok = new AtomicInteger(0);
+    private AtomicInteger ko = new AtomicInteger(0);
+    private AtomicInteger unsupported = new AtomicInteger(0);
     private boolean printFileName = true;
     private PrintStream out = System.out;
     private PrintStream err = System.err;
@@ -70,9 +73,9 @@ public class SourceFileInfoExtractor {
     }
 
     public void clear() {
-        ok = 0;
-        ko = 0;
-        unsupported = 0;
+        ok.set(0);
+        ko.set(0);
+        unsupported.set(0);
     }
 
     public void setOut(PrintStream out) {
@@ -84,16 +87,16 @@ public class SourceFileInfoExtractor {
     }
 
     public int getOk() {
-        return ok;
+        return ok.get();
 
     }
 
     public int getUnsupported() {
-        return unsupported;
+        return unsupported.get();
     }
 
     public int getKo() {
-        return ko;
+        return ko.get();
     }
 
     private void solveTypeDecl(ClassOrInterfaceDeclaration node) {
@@ -112,29 +115,36 @@ public class SourceFileInfoExtractor {
     private void solve(Node node) {
         if (node instanceof ClassOrInterfaceDeclaration) {
             solveTypeDecl((ClassOrInterfaceDeclaration) node);
-        } else if (node instanceof Expression) {
-            if ((getParentNode(node) instanceof ImportDeclaration) || (getParentNode(node) instanceof Expression)
-                    || (getParentNode(node) instanceof MethodDeclaration)
-                    || (getParentNode(node) instanceof PackageDeclaration)) {
-                // skip
-            } else if ((getParentNode(node) instanceof Statement) || (getParentNode(node) instanceof VariableDeclarator)) {
-                try {
-                    Type ref = JavaParserFacade.get(typeSolver).getType(node);
-                    out.println("  Line " + node.getRange().get().begin.line + ") " + node + " ==> " + ref.describe());
-                    ok++;
-                } catch (UnsupportedOperationException upe) {
-                    unsupported++;
-                    err.println(upe.getMessage());
-                    throw upe;
-                } catch (RuntimeException re) {
-                    ko++;
-                    err.println(re.getMessage());
-                    throw re;
-                }
+        } else if (isTypedExpression(node)) {
+            try {
+                Type ref = JavaParserFacade.get(typeSolver).getType(node);
+                out.println("  Line " + node.getRange().get().begin.line + ") " + node + " ==> " + ref.describe());
+                ok.incrementAndGet();
+            } catch (UnsupportedOperationException upe) {
+                unsupported.incrementAndGet();
+                err.println(upe.getMessage());
+                throw upe;
+            } catch (RuntimeException re) {
+                ko.incrementAndGet();
+                err.println(re.getMessage());
+                throw re;
             }
         }
     }
 
+    /**
+     * The expressions whose type is calculated: the ones directly contained in a statement or used to initialize
+     * a variable. The sub-expressions, the names in imports and package declarations and the annotations of methods
+     * are skipped.
+     */
+    private boolean isTypedExpression(Node node) {
+        if (!(node instanceof Expression)) {
+            return false;
+        }
+        Node parent = getParentNode(node);
+        return (parent instanceof Statement) || (parent instanceof VariableDeclarator);
+    }
+
     private void solveMethodCalls(Node node) {
         if (node instanceof MethodCallExpr) {
             out.println("  Line " + node.getBegin().get().line + ") " + node + " ==> " + toString((MethodCallExpr) node));
@@ -209,8 +219,277 @@ public class SourceFileInfoExtractor {
         }
     }
 
+    /**
+     * Solve all the files contained in the given directory (or the given file) in parallel, on the common
+     * fork-join pool, unless the returned stream is consumed from a task running in another ForkJoinPool.
+     * <p>
+     * All the workers share the same TypeSolver. The output of each file is printed in one block, once the file
+     * has been completely solved, so that the output of different files is not interleaved. Contrary to
+     * {@link #solve(File)} a failure on one file does not stop the other files from being solved: it is reported in
+     * the result of that file. The counters of this extractor are updated as the files are solved.
+     * <p>
+     * The work is performed while the returned stream is consumed.
+     */
+    public Stream<FileResult> solveInParallel(File file) {
+        // An ArrayList is split evenly among the workers, while a LinkedList is not
+        List<File> files = new ArrayList<>();
+        collectJavaFiles(file, files);
+        return files.parallelStream().map(this::solveInIsolation);
+    }
+
+    private void collectJavaFiles(File file, List<File> files) {
+        if (file.isDirectory()) {
+            for (File f : file.listFiles()) {
+                collectJavaFiles(f, files);
+            }
+        } else if (file.getName().endsWith(".java")) {
+            files.add(file);
+        }
+    }
+
+    private FileResult solveInIsolation(File file) {
+        ByteArrayOutputStream buffer = new ByteArrayOutputStream();
+        PrintStream bufferStream = new PrintStream(buffer);
+        SourceFileInfoExtractor fileExtractor = new SourceFileInfoExtractor();
+        fileExtractor.setTypeSolver(typeSolver);
+        fileExtractor.setPrintFileName(printFileName);
+        fileExtractor.setVerbose(verbose);
+        fileExtractor.setOut(bufferStream);
+        fileExtractor.setErr(bufferStream);
+        Throwable failure = null;
+        try {
+            fileExtractor.solve(file);
+        } catch (IOException | ParseException | RuntimeException e) {
+            failure = e;
+        }
+        ok.addAndGet(fileExtractor.getOk());
+        ko.addAndGet(fileExtractor.getKo());
+        unsupported.addAndGet(fileExtractor.getUnsupported());
+        bufferStream.flush();
+        out.print(buffer.toString());
+        return new FileResult(file, fileExtractor.getOk(), fileExtractor.getKo(), fileExtractor.getUnsupported(), failure);
+    }
+
+    /**
+     * The resolution records of all the files contained in the given directory (or the given file): one for the type
+     * of each expression considered by {@link #solve(File)} and one for each method call, in the order in which
+     * they appear in the file.
+     * <p>
+     * Nothing is printed and the counters of this extractor are not updated. A failure does not stop the
+     * resolution: it is reported in the record of the node, or in a record of kind FILE when the file cannot be
+     * read or parsed. The files are parsed one at a time while the returned stream is consumed, so memory does not
+     * depend on the size of the project. Nothing is formatted: descriptions are produced only when
+     * {@link ResolutionRecord#getResolvedName()} is called.
+     */
+    public Stream<ResolutionRecord> resolutionRecords(File file) {
+        List<File> files = new LinkedList<>();
+        collectJavaFiles(file, files);
+        return files.stream().flatMap(this::resolutionRecordsOf);
+    }
+
+    private Stream<ResolutionRecord> resolutionRecordsOf(File file) {
+        CompilationUnit cu;
+        try {
+            cu = JavaParser.parse(file);
+        } catch (IOException | RuntimeException e) {
+            return Stream.of(new ResolutionRecord(file, ResolutionRecord.Kind.FILE, null, null, null, e));
+        }
+        List<ResolutionRecord> records = new ArrayList<>();
+        for (Node node : collectAllNodes(cu)) {
+            if (isTypedExpression(node)) {
+                records.add(typeRecord(file, node));
+            }
+            if (node instanceof MethodCallExpr) {
+                records.add(methodCallRecord(file, (MethodCallExpr) node));
+            }
+        }
+        return records.stream();
+    }
+
+    private ResolutionRecord typeRecord(File file, Node node) {
+        try {
+            Type type = JavaParserFacade.get(typeSolver).getType(node);
+            return new ResolutionRecord(file, ResolutionRecord.Kind.EXPRESSION_TYPE, node, type, null, null);
+        } catch (RuntimeException e) {
+            return new ResolutionRecord(file, ResolutionRecord.Kind.EXPRESSION_TYPE, node, null, null, e);
+        }
+    }
+
+    private ResolutionRecord methodCallRecord(File file, MethodCallExpr node) {
+        try {
+            SymbolReference<com.github.javaparser.symbolsolver.model.declarations.MethodDeclaration> ref = JavaParserFacade.get(typeSolver).solve(node);
+            return new ResolutionRecord(file, ResolutionRecord.Kind.METHOD_CALL, node, null,
+                    ref.isSolved() ? ref.getCorrespondingDeclaration() : null, null);
+        } catch (RuntimeException e) {
+            return new ResolutionRecord(file, ResolutionRecord.Kind.METHOD_CALL, node, null, null, e);
+        }
+    }
+
     public void setTypeSolver(TypeSolver typeSolver) {
         this.typeSolver = typeSolver;
     }
 
+    /**
+     * The outcome of solving a single file.
+     */
+    public static class FileResult {
+        private File file;
+        private int ok;
+        private int ko;
+        private int unsupported;
+        private Throwable failure;
+
+        FileResult(File file, int ok, int ko, int unsupported, Throwable failure) {
+            this.file = file;
+            this.ok = ok;
+            this.ko = ko;
+            this.unsupported = unsupported;
+            this.failure = failure;
+        }
+
+        public File getFile() {
+            return file;
+        }
+
+        public int getOk() {
+            return ok;
+        }
+
+        public int getKo() {
+            return ko;
+        }
+
+        public int getUnsupported() {
+            return unsupported;
+        }
+
+        /**
+         * The exception which stopped the resolution of the file, if any.
+         */
+        public Optional<Throwable> getFailure() {
+            return Optional.ofNullable(failure);
+        }
+
+        @Override
+        public String toString() {
+            return "FileResult{" +
+                    "file=" + file +
+                    ", ok=" + ok +
+                    ", ko=" + ko +
+                    ", unsupported=" + unsupported +
+                    ", failure=" + failure +
+                    '}';
+        }
+    }
+
+    /**
+     * The outcome of the resolution of a single node. It references the node, so it keeps in memory the file it
+     * belongs to for as long as it is retained.
+     */
+    public static class ResolutionRecord {
+
+        public enum Kind {
+            /**
+             * The file could not be read or parsed.
+             */
+            FILE,
+            /**
+             * The type of an expression.
+             */
+            EXPRESSION_TYPE,
+            /**
+             * The method declaration invoked by a method call.
+             */
+            METHOD_CALL
+        }
+
+        private File file;
+        private Kind kind;
+        private Node node;
+        private Type type;
+        private com.github.javaparser.symbolsolver.model.declarations.MethodDeclaration method;
+        private Throwable failure;
+
+        ResolutionRecord(File file, Kind kind, Node node, Type type,
+                         com.github.javaparser.symbolsolver.model.declarations.MethodDeclaration method, Throwable failure) {
+            this.file = file;
+            this.kind = kind;
+            this.node = node;
+            this.type = type;
+            this.method = method;
+            this.failure = failure;
+        }
+
+        public File getFile() {
+            return file;
+        }
+
+        public Kind getKind() {
+            return kind;
+        }
+
+        /**
+         * The node which has been resolved. It is absent for records of kind FILE.
+         */
+        public Optional<Node> getNode() {
+            return Optional.ofNullable(node);
+        }
+
+        public Optional<Range> getRange() {
+            return node == null ? Optional.empty() : node.getRange();
+        }
+
+        /**
+         * The type of the expression, for records of kind EXPRESSION_TYPE which have been solved.
+         */
+        public Optional<Type> getType() {
+            return Optional.ofNullable(type);
+        }
+
+        /**
+         * The method invoked, for records of kind METHOD_CALL which have been solved.
+         */
+        public Optional<com.github.javaparser.symbolsolver.model.declarations.MethodDeclaration> getMethod() {
+            return Optional.ofNullable(method);
+        }
+
+        /**
+         * The exception thrown while resolving the node, or while reading and parsing the file.
+         */
+        public Optional<Throwable> getFailure() {
+            return Optional.ofNullable(failure);
+        }
+
+        /**
+         * A method call which is not solved but did not fail corresponds to an unsolved symbol reference.
+         */
+        public boolean isSolved() {
+            return type != null || method != null;
+        }
+
+        /**
+         * The description of the type or the qualified signature of the method, if solved.
+         */
+        public Optional<String> getResolvedName() {
+            if (type != null) {
+                return Optional.of(type.describe());
+            }
+            if (method != null) {
+                return Optional.of(method.getQualifiedSignature());
+            }
+            return Optional.empty();
+        }
+
+        @Override
+        public String toString() {
+            return "ResolutionRecord{" +
+                    "file=" + file +
+                    ", kind=" + kind +
+                    ", range=" + getRange().orElse(null) +
+                    ", resolved=" + getResolvedName().orElse(null) +
+                    ", failure=" + failure +
+                    '}';
+        }
+    }
+
 }
@@ -25,8 +25,11 @@ import com.github.javaparser.ast.expr.SimpleName;
 import com.github.javaparser.ast.stmt.ReturnStmt;
 import com.github.javaparser.ast.stmt.SwitchStmt;
 
+import java.util.ArrayDeque;
+import java.util.Deque;
 import java.util.LinkedList;
 import java.util.List;
+import java.util.ListIterator;
 import java.util.Optional;
 
 /**
@@ -285,11 +288,18 @@ public final class Navigator {
     }
 
     private static <N> void findAllNodesOfGivenClassHelper(Node node, Class<N> clazz, List<N> collector) {
-        if (clazz.isInstance(node)) {
-            collector.add(clazz.cast(node));
-        }
-        for (Node child : node.getChildNodes()) {
-            findAllNodesOfGivenClassHelper(child, clazz, collector);
+        // The nodes are visited in pre-order with an explicit stack, as deeply nested expressions could overflow it
+        Deque<Node> toVisit = new ArrayDeque<>();
+        toVisit.push(node);
+        while (!toVisit.isEmpty()) {
+            Node current = toVisit.pop();
+            if (clazz.isInstance(current)) {
+                collector.add(clazz.cast(current));
+            }
+            List<Node> children = current.getChildNodes();
+            for (ListIterator<Node> it = children.listIterator(children.size()); it.hasPrevious(); ) {
+                toVisit.push(it.previous());
+            }
         }
     }
 }
@@ -27,6 +27,7 @@ import com.github.javaparser.ast.type.ClassOrInterfaceType;
 import com.github.javaparser.ast.type.UnknownType;
 import com.github.javaparser.ast.type.WildcardType;
 import com.github.javaparser.symbolsolver.core.resolution.Context;
+import com.github.javaparser.symbolsolver.javaparsermodel.JavaParserFactory;
 import com.github.javaparser.symbolsolver.javaparsermodel.declarations.*;
 import com.github.javaparser.symbolsolver.model.declarations.*;
 import com.github.javaparser.symbolsolver.model.declarations.AnnotationDeclaration;
@@ -38,9 +39,15 @@ import com.github.javaparser.symbolsolver.model.resolution.SymbolReference;
 import com.github.javaparser.symbolsolver.model.resolution.TypeSolver;
 import com.github.javaparser.symbolsolver.model.typesystem.*;
 import com.github.javaparser.symbolsolver.resolution.ConstructorResolutionLogic;
+import com.github.javaparser.symbolsolver.resolution.Instrumentation;
+import com.github.javaparser.symbolsolver.resolution.ResolutionListener;
 import com.github.javaparser.symbolsolver.resolution.SymbolSolver;
+import com.google.common.collect.MapMaker;
 
 import java.util.*;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.Supplier;
 import java.util.logging.ConsoleHandler;
 import java.util.logging.Level;
 import java.util.logging.Logger;
@@ -50,6 +57,10 @@ import static com.github.javaparser.symbolsolver.javaparser.Navigator.getParentN
 
 /**
  * Class to be used by final users to solve symbols for JavaParser ASTs.
+ * <p>
+ * Instances are safe to be shared between threads: the registry of facades is a concurrent map and the types
+ * calculated for the nodes are stored in the nodes themselves, so different threads can resolve different
+ * compilation units using the same TypeSolver without blocking each other.
  *
  * @author Federico Tomassetti
  */
@@ -64,14 +75,31 @@ public class JavaParserFacade {
         logger.addHandler(consoleHandler);
     }
 
-    private static Map<TypeSolver, JavaParserFacade> instances = new WeakHashMap<>();
+    // Keys are weakly referenced and compared by identity. The WeakHashMap used before compared them with equals,
+    // which type solvers do not redefine, so each type solver still gets its own facade
+    private static Map<TypeSolver, JavaParserFacade> instances = new MapMaker().weakKeys().makeMap();
+
+    /**
+     * What the facades calculated for a node, by the type solver they were obtained for. It is stored in the node
+     * itself: the types calculated and the symbols solved reference the declarations, and so the ASTs, they come
+     * from, so a map from the nodes to them would keep the nodes alive even if its keys were weak.
+     * <p>
+     * The data is tagged with the generation of the facade which stored it. Generations are unique among all the
+     * facades, so the data stored by a facade whose caches were cleared, or by a facade dropped by clearInstances,
+     * is ignored by the new one, and it is replaced or removed when the node is used again.
+     */
+    private static final NodeCache<NodeData> NODE_DATA = new NodeCache<>();
+    private static final AtomicInteger GENERATIONS = new AtomicInteger();
+
     private TypeSolver typeSolver;
     private SymbolSolver symbolSolver;
-    private Map<Node, Type> cacheWithLambdasSolved = new IdentityHashMap<>();
-    private Map<Node, Type> cacheWithoutLambdasSolved = new IdentityHashMap<>();
+    private final TypeSolver owner;
+    // Changed to forget what was stored in the nodes, which cannot be enumerated
+    private volatile int generation = GENERATIONS.incrementAndGet();
     private TypeExtractor typeExtractor;
 
     private JavaParserFacade(TypeSolver typeSolver) {
+        this.owner = typeSolver;
         this.typeSolver = typeSolver.getRoot();
         this.symbolSolver = new SymbolSolver(typeSolver);
         this.typeExtractor = new TypeExtractor(typeSolver, this);
@@ -90,12 +118,43 @@ public class JavaParserFacade {
     }
 
     /**
-     * This method is used to clear internal caches for the sake of releasing memory.
+     * This method is used to clear internal caches for the sake of releasing memory. The types and symbols stored
+     * in the nodes by the facades dropped are not used anymore, and they are released when the nodes are used
+     * again or collected.
      */
     public static void clearInstances() {
         instances.clear();
     }
 
+    /**
+     * Forget the types calculated and the symbols solved for the nodes by the facade of the given type solver, if
+     * it exists, while keeping the facade. This is used when some of the code the nodes depend on has changed.
+     */
+    public static void clearCaches(TypeSolver typeSolver) {
+        JavaParserFacade facade = instances.get(typeSolver);
+        if (facade != null) {
+            facade.generation = GENERATIONS.incrementAndGet();
+        }
+    }
+
+    /**
+     * Forget the types calculated and the symbols solved for the given node and for the nodes it contains, by all the
+     * facades. This is used when some of the code the nodes depend on has changed and the nodes depending on it are
+     * known, so that the types calculated for the other nodes are kept.
+     */
+    public static void clearCaches(Node node) {
+        // The nodes are visited in a loop, as the nodes of deeply nested expressions could be many
+        Deque<Node> toClear = new ArrayDeque<>();
+        toClear.push(node);
+        while (!toClear.isEmpty()) {
+            Node current = toClear.pop();
+            NODE_DATA.clear(current);
+            for (Node child : current.getChildNodes()) {
+                toClear.push(child);
+            }
+        }
+    }
+
     protected static Type solveGenericTypes(Type type, Context context, TypeSolver typeSolver) {
         if (type.isTypeVariable()) {
             Optional<Type> solved = context.solveGenericType(type.describe(), typeSolver);
@@ -123,7 +182,7 @@ public class JavaParserFacade {
     }
 
     public SymbolReference<? extends ValueDeclaration> solve(NameExpr nameExpr) {
-        return symbolSolver.solveSymbol(nameExpr.getName().getId(), nameExpr);
+        return solveCached(nameExpr, true, () -> symbolSolver.solveSymbol(nameExpr.getName().getId(), nameExpr));
     }
 
     public SymbolReference<? extends ValueDeclaration> solve(SimpleName nameExpr) {
@@ -151,10 +210,13 @@ public class JavaParserFacade {
     }
 
     public SymbolReference<ConstructorDeclaration> solve(ExplicitConstructorInvocationStmt explicitConstructorInvocationStmt, boolean solveLambdas) {
-        List<Type> argumentTypes = new LinkedList<>();
-        List<LambdaArgumentTypePlaceholder> placeholders = new LinkedList<>();
+        return solveCached(explicitConstructorInvocationStmt, solveLambdas,
+                () -> solveUncached(explicitConstructorInvocationStmt, solveLambdas));
+    }
 
-        solveArguments(explicitConstructorInvocationStmt, explicitConstructorInvocationStmt.getArguments(), solveLambdas, argumentTypes, placeholders);
+    private SymbolReference<ConstructorDeclaration> solveUncached(ExplicitConstructorInvocationStmt explicitConstructorInvocationStmt, boolean solveLambdas) {
+        List<Type> argumentTypes = solveArguments(explicitConstructorInvocationStmt, explicitConstructorInvocationStmt.getArguments(), solveLambdas);
+        List<LambdaArgumentTypePlaceholder> placeholders = placeholdersIn(argumentTypes);
 
         Optional<ClassOrInterfaceDeclaration> optAncestor = explicitConstructorInvocationStmt.getAncestorOfType(ClassOrInterfaceDeclaration.class);
         if (!optAncestor.isPresent()) {
@@ -209,10 +271,12 @@ public class JavaParserFacade {
      * Given a constructor call find out to which constructor declaration it corresponds.
      */
     public SymbolReference<ConstructorDeclaration> solve(ObjectCreationExpr objectCreationExpr, boolean solveLambdas) {
-        List<Type> argumentTypes = new LinkedList<>();
-        List<LambdaArgumentTypePlaceholder> placeholders = new LinkedList<>();
+        return solveCached(objectCreationExpr, solveLambdas, () -> solveUncached(objectCreationExpr, solveLambdas));
+    }
 
-        solveArguments(objectCreationExpr, objectCreationExpr.getArguments(), solveLambdas, argumentTypes, placeholders);
+    private SymbolReference<ConstructorDeclaration> solveUncached(ObjectCreationExpr objectCreationExpr, boolean solveLambdas) {
+        List<Type> argumentTypes = solveArguments(objectCreationExpr, objectCreationExpr.getArguments(), solveLambdas);
+        List<LambdaArgumentTypePlaceholder> placeholders = placeholdersIn(argumentTypes);
 
         Type classDecl = JavaParserFacade.get(typeSolver).convert(objectCreationExpr.getType(), objectCreationExpr);
         if (!classDecl.isReferenceType()) {
@@ -225,16 +289,23 @@ public class JavaParserFacade {
         return res;
     }
 
-    private void solveArguments(Node node, NodeList<Expression> args, boolean solveLambdas, List<Type> argumentTypes, List<LambdaArgumentTypePlaceholder> placeholders) {
+    /**
+     * The types of the arguments, in an array-backed list. Lambdas and method references are represented by
+     * placeholders, to be completed once the method or constructor invoked is known.
+     */
+    private List<Type> solveArguments(Node node, NodeList<Expression> args, boolean solveLambdas) {
+        if (args.isEmpty()) {
+            return new ArrayList<>(0);
+        }
+        List<Type> argumentTypes = new ArrayList<>(args.size());
+        JavaParserFacade facade = JavaParserFacade.get(typeSolver);
         int i = 0;
         for (Expression parameterValue : args) {
             if (parameterValue instanceof LambdaExpr || parameterValue instanceof MethodReferenceExpr) {
-                LambdaArgumentTypePlaceholder placeholder = new LambdaArgumentTypePlaceholder(i);
-                argumentTypes.add(placeholder);
-                placeholders.add(placeholder);
+                argumentTypes.add(new LambdaArgumentTypePlaceholder(i));
             } else {
                 try {
-                    argumentTypes.add(JavaParserFacade.get(typeSolver).getType(parameterValue, solveLambdas));
+                    argumentTypes.add(facade.getType(parameterValue, solveLambdas));
                 } catch (UnsolvedSymbolException e) {
                     throw e;
                 } catch (Exception e) {
@@ -244,16 +315,47 @@ public class JavaParserFacade {
             }
             i++;
         }
+        return argumentTypes;
+    }
+
+    /**
+     * The placeholders among the given argument types. No list is allocated when there are none, which is the
+     * common case.
+     */
+    private static List<LambdaArgumentTypePlaceholder> placeholdersIn(List<Type> argumentTypes) {
+        List<LambdaArgumentTypePlaceholder> placeholders = Collections.emptyList();
+        for (Type argumentType : argumentTypes) {
+            if (argumentType instanceof LambdaArgumentTypePlaceholder) {
+                if (placeholders.isEmpty()) {
+                    placeholders = new ArrayList<>(argumentTypes.size());
+                }
+                placeholders.add((LambdaArgumentTypePlaceholder) argumentType);
+            }
+        }
+        return placeholders;
     }
 
     /**
      * Given a method call find out to which method declaration it corresponds.
      */
     public SymbolReference<MethodDeclaration> solve(MethodCallExpr methodCallExpr, boolean solveLambdas) {
-        List<Type> argumentTypes = new LinkedList<>();
-        List<LambdaArgumentTypePlaceholder> placeholders = new LinkedList<>();
+        return solveCached(methodCallExpr, solveLambdas, () -> solveUncached(methodCallExpr, solveLambdas));
+    }
+
+    private SymbolReference<MethodDeclaration> solveUncached(MethodCallExpr methodCallExpr, boolean solveLambdas) {
+        ResolutionListener listener = Instrumentation.getListener();
+        if (listener == ResolutionListener.NONE) {
+            return solveUninstrumented(methodCallExpr, solveLambdas);
+        }
+        long start = System.nanoTime();
+        SymbolReference<MethodDeclaration> res = solveUninstrumented(methodCallExpr, solveLambdas);
+        listener.methodCallSolved(methodCallExpr, System.nanoTime() - start);
+        return res;
+    }
 
-        solveArguments(methodCallExpr, methodCallExpr.getArguments(), solveLambdas, argumentTypes, placeholders);
+    private SymbolReference<MethodDeclaration> solveUninstrumented(MethodCallExpr methodCallExpr, boolean solveLambdas) {
+        List<Type> argumentTypes = solveArguments(methodCallExpr, methodCallExpr.getArguments(), solveLambdas);
+        List<LambdaArgumentTypePlaceholder> placeholders = placeholdersIn(argumentTypes);
 
         SymbolReference<MethodDeclaration> res = JavaParserFactory.getContext(methodCallExpr, typeSolver).solveMethod(methodCallExpr.getName().getId(), argumentTypes, false, typeSolver);
         for (LambdaArgumentTypePlaceholder placeholder : placeholders) {
@@ -263,6 +365,10 @@ public class JavaParserFacade {
     }
 
     public SymbolReference<AnnotationDeclaration> solve(AnnotationExpr annotationExpr) {
+        return solveCached(annotationExpr, true, () -> solveUncached(annotationExpr));
+    }
+
+    private SymbolReference<AnnotationDeclaration> solveUncached(AnnotationExpr annotationExpr) {
         Context context = JavaParserFactory.getContext(annotationExpr, typeSolver);
         SymbolReference<TypeDeclaration> typeDeclarationSymbolReference = context.solveType(annotationExpr.getNameAsString(), typeSolver);
         AnnotationDeclaration annotationDeclaration = (AnnotationDeclaration) typeDeclarationSymbolReference.getCorrespondingDeclaration();
@@ -273,77 +379,326 @@ public class JavaParserFacade {
         }
     }
 
+    /**
+     * The symbol solved for the given node, taken from the cache or solved and cached, so that each node is solved
+     * once. As for the types, a symbol solved solving the lambdas among the arguments is used also when they do
+     * not need to be solved.
+     */
+    @SuppressWarnings("unchecked")
+    private <S extends SymbolReference<?>> S solveCached(Node node, boolean solveLambdas, Supplier<S> solver) {
+        NodeData data = peek(node);
+        SymbolReference<?> cached = data == null ? null : data.getSymbol(true);
+        if (cached == null && !solveLambdas && data != null) {
+            cached = data.getSymbol(false);
+        }
+        Instrumentation.getListener().cacheLookup(ResolutionListener.Cache.SYMBOLS, cached != null);
+        if (cached != null) {
+            return (S) cached;
+        }
+        S res = solver.get();
+        dataOf(node).setSymbol(solveLambdas, res);
+        return res;
+    }
+
     public Type getType(Node node) {
         return getType(node, true);
     }
 
     public Type getType(Node node, boolean solveLambdas) {
+        ResolutionListener listener = Instrumentation.getListener();
         if (solveLambdas) {
-            if (!cacheWithLambdasSolved.containsKey(node)) {
-                Type res = getTypeConcrete(node, solveLambdas);
+            Type cached = getCachedType(node, true);
+            listener.cacheLookup(ResolutionListener.Cache.NODE_TYPES, cached != null);
+            if (cached == null) {
+                typeNestedExpressions(node, solveLambdas);
+                Type res = getTypeConcrete(node, solveLambdas, listener);
 
-                cacheWithLambdasSolved.put(node, res);
+                cacheType(node, true, res);
 
                 boolean secondPassNecessary = false;
                 if (node instanceof MethodCallExpr) {
                     MethodCallExpr methodCallExpr = (MethodCallExpr) node;
                     for (Node arg : methodCallExpr.getArguments()) {
-                        if (!cacheWithLambdasSolved.containsKey(arg)) {
+                        if (getCachedType(arg, true) == null) {
                             getType(arg, true);
                             secondPassNecessary = true;
                         }
                     }
                 }
                 if (secondPassNecessary) {
-                    cacheWithLambdasSolved.remove(node);
-                    cacheWithLambdasSolved.put(node, getType(node, true));
+                    dataOf(node).setType(true, null);
+                    res = getType(node, true);
+                    dataOf(node).setType(true, res);
+                }
+                // Printing the node is expensive, and it could overflow the stack for deeply nested expressions
+                if (logger.isLoggable(Level.FINER)) {
+                    logger.finer("getType on " + node + " -> " + res);
                 }
-                logger.finer("getType on " + node + " -> " + res);
+                return res;
             }
-            return cacheWithLambdasSolved.get(node);
+            return cached;
         } else {
-            Optional<Type> res = find(cacheWithLambdasSolved, node);
+            Optional<Type> res = find(node, true);
             if (res.isPresent()) {
+                listener.cacheLookup(ResolutionListener.Cache.NODE_TYPES, true);
                 return res.get();
             }
-            res = find(cacheWithoutLambdasSolved, node);
+            res = find(node, false);
+            listener.cacheLookup(ResolutionListener.Cache.NODE_TYPES, res.isPresent());
             if (!res.isPresent()) {
-                Type resType = getTypeConcrete(node, solveLambdas);
-                cacheWithoutLambdasSolved.put(node, resType);
-                logger.finer("getType on " + node + " (no solveLambdas) -> " + res);
+                typeNestedExpressions(node, solveLambdas);
+                Type resType = getTypeConcrete(node, solveLambdas, listener);
+                cacheType(node, false, resType);
+                if (logger.isLoggable(Level.FINER)) {
+                    logger.finer("getType on " + node + " (no solveLambdas) -> " + res);
+                }
                 return resType;
             }
             return res.get();
         }
     }
 
-    private Optional<Type> find(Map<Node, Type> map, Node node) {
-        if (map.containsKey(node)) {
-            return Optional.of(map.get(node));
+    /**
+     * Type the expressions nested in the given node which are needed to type it and which can be nested without
+     * limits: the scopes and the arguments of method calls, the operands of binary and unary expressions, the
+     * expressions in parentheses, the first branch of conditional expressions and the arrays of array accesses.
+     * They are visited with an explicit stack and typed starting from the innermost ones, so that they are already
+     * cached when the node is typed and the recursion is only one level deep, however long the chains of calls or
+     * deep the nesting of the expressions are.
+     * <p>
+     * Other nodes do not type the expressions they contain, like casts and object creations, or do it while solving
+     * symbols, like chains of field accesses: their nesting is still limited by the stack.
+     */
+    private void typeNestedExpressions(Node node, boolean solveLambdas) {
+        // Most of the nodes typed, like names and literals, have nothing nested to type
+        if (!isNestable(node)) {
+            return;
+        }
+        List<NestedExpression> nested = getUntypedNestedExpressions(node, solveLambdas);
+        if (nested.isEmpty()) {
+            return;
+        }
+        Deque<NestedExpression> toType = new ArrayDeque<>(nested);
+        while (!toType.isEmpty()) {
+            NestedExpression current = toType.peek();
+            if (current.expanded) {
+                toType.pop();
+                getType(current.expression, current.solveLambdas);
+            } else {
+                current.expanded = true;
+                for (NestedExpression child : getUntypedNestedExpressions(current.expression, current.solveLambdas)) {
+                    toType.push(child);
+                }
+            }
+        }
+    }
+
+    private static boolean isNestable(Node node) {
+        return node instanceof MethodCallExpr || node instanceof BinaryExpr || node instanceof EnclosedExpr
+                || node instanceof UnaryExpr || node instanceof ConditionalExpr || node instanceof ArrayAccessExpr;
+    }
+
+    /**
+     * The expressions nested in the given one which are typed to type it, as TypeExtractor does, and which are not
+     * typed yet.
+     */
+    private List<NestedExpression> getUntypedNestedExpressions(Node node, boolean solveLambdas) {
+        List<NestedExpression> nested = new ArrayList<>();
+        if (node instanceof MethodCallExpr) {
+            MethodCallExpr methodCallExpr = (MethodCallExpr) node;
+            // The scope is typed solving lambdas, see MethodCallExprContext
+            methodCallExpr.getScope().ifPresent(scope -> addIfUntyped(scope, true, nested));
+            for (Expression argument : methodCallExpr.getArguments()) {
+                addIfUntyped(argument, solveLambdas, nested);
+            }
+        } else if (node instanceof BinaryExpr) {
+            BinaryExpr binaryExpr = (BinaryExpr) node;
+            if (!isBooleanOperator(binaryExpr.getOperator())) {
+                addIfUntyped(binaryExpr.getLeft(), solveLambdas, nested);
+                if (isArithmeticOperator(binaryExpr.getOperator())) {
+                    addIfUntyped(binaryExpr.getRight(), solveLambdas, nested);
+                }
+            }
+        } else if (node instanceof EnclosedExpr) {
+            addIfUntyped(((EnclosedExpr) node).getInner(), solveLambdas, nested);
+        } else if (node instanceof UnaryExpr) {
+            UnaryExpr unaryExpr = (UnaryExpr) node;
+            if (isTypedAsOperand(unaryExpr.getOperator())) {
+                addIfUntyped(unaryExpr.getExpression(), solveLambdas, nested);
+            }
+        } else if (node instanceof ConditionalExpr) {
+            addIfUntyped(((ConditionalExpr) node).getThenExpr(), solveLambdas, nested);
+        } else if (node instanceof ArrayAccessExpr) {
+            addIfUntyped(((ArrayAccessExpr) node).getName(), solveLambdas, nested);
+        }
+        return nested;
+    }
+
+    /**
+     * Whether an unary expression with the given operator has the type of its operand, see TypeExtractor.
+     */
+    private static boolean isTypedAsOperand(UnaryExpr.Operator operator) {
+        switch (operator) {
+            case MINUS:
+            case PLUS:
+            case POSTFIX_DECREMENT:
+            case PREFIX_DECREMENT:
+            case POSTFIX_INCREMENT:
+            case PREFIX_INCREMENT:
+                return true;
+            default:
+                return false;
+        }
+    }
+
+    private void addIfUntyped(Expression expression, boolean solveLambdas, List<NestedExpression> nested) {
+        if (isNestable(expression) && getCachedType(expression, solveLambdas) == null) {
+            nested.add(new NestedExpression(expression, solveLambdas));
+        }
+    }
+
+    /**
+     * The type calculated and the symbol solved by a facade for a node, solving the lambdas among the arguments or
+     * not, and the types of the lambdas among its children by position. The data of an older generation is ignored.
+     */
+    private static class NodeData {
+        private final int generation;
+        private volatile Type typeWithLambdasSolved;
+        private volatile Type typeWithoutLambdasSolved;
+        private volatile SymbolReference<?> symbolWithLambdasSolved;
+        private volatile SymbolReference<?> symbolWithoutLambdasSolved;
+        private volatile Map<Object, Type> lambdasWithLambdasSolved;
+        private volatile Map<Object, Type> lambdasWithoutLambdasSolved;
+
+        NodeData(int generation) {
+            this.generation = generation;
+        }
+
+        Type getType(boolean solveLambdas) {
+            return solveLambdas ? typeWithLambdasSolved : typeWithoutLambdasSolved;
+        }
+
+        void setType(boolean solveLambdas, Type type) {
+            if (solveLambdas) {
+                typeWithLambdasSolved = type;
+            } else {
+                typeWithoutLambdasSolved = type;
+            }
+        }
+
+        SymbolReference<?> getSymbol(boolean solveLambdas) {
+            return solveLambdas ? symbolWithLambdasSolved : symbolWithoutLambdasSolved;
+        }
+
+        void setSymbol(boolean solveLambdas, SymbolReference<?> symbol) {
+            if (solveLambdas) {
+                symbolWithLambdasSolved = symbol;
+            } else {
+                symbolWithoutLambdasSolved = symbol;
+            }
+        }
+
+        Map<Object, Type> getLambdas(boolean solveLambdas, boolean create) {
+            Map<Object, Type> lambdas = solveLambdas ? lambdasWithLambdasSolved : lambdasWithoutLambdasSolved;
+            if (lambdas != null || !create) {
+                return lambdas;
+            }
+            synchronized (this) {
+                if (solveLambdas) {
+                    if (lambdasWithLambdasSolved == null) {
+                        lambdasWithLambdasSolved = new ConcurrentHashMap<>();
+                    }
+                    return lambdasWithLambdasSolved;
+                } else {
+                    if (lambdasWithoutLambdasSolved == null) {
+                        lambdasWithoutLambdasSolved = new ConcurrentHashMap<>();
+                    }
+                    return lambdasWithoutLambdasSolved;
+                }
+            }
+        }
+    }
+
+    private static class NestedExpression {
+        private final Expression expression;
+        private final boolean solveLambdas;
+        private boolean expanded = false;
+
+        NestedExpression(Expression expression, boolean solveLambdas) {
+            this.expression = expression;
+            this.solveLambdas = solveLambdas;
+        }
+    }
+
+    /**
+     * What this facade calculated for the node since its caches were last cleared, or null.
+     */
+    private NodeData peek(Node node) {
+        NodeData data = NODE_DATA.get(node, owner);
+        if (data != null && data.generation != generation) {
+            NODE_DATA.remove(node, owner, data);
+            return null;
+        }
+        return data;
+    }
+
+    /**
+     * What this facade calculated for the node since its caches were last cleared, created if missing.
+     */
+    private NodeData dataOf(Node node) {
+        int current = generation;
+        NodeData data = NODE_DATA.get(node, owner);
+        if (data == null) {
+            return NODE_DATA.putIfAbsent(node, owner, new NodeData(current));
+        }
+        if (data.generation != current) {
+            return NODE_DATA.put(node, owner, new NodeData(current));
+        }
+        return data;
+    }
+
+    private void cacheType(Node node, boolean solveLambdas, Type type) {
+        dataOf(node).setType(solveLambdas, type);
+        if (node instanceof LambdaExpr && getParentNode(node) != null) {
+            dataOf(getParentNode(node)).getLambdas(solveLambdas, true).put(getLambdaPosition((LambdaExpr) node), type);
+        }
+    }
+
+    private Optional<Type> find(Node node, boolean solveLambdas) {
+        NodeData data = peek(node);
+        Type cached = data == null ? null : data.getType(solveLambdas);
+        if (cached != null) {
+            return Optional.of(cached);
         }
         if (node instanceof LambdaExpr) {
-            return find(map, (LambdaExpr) node);
+            return find((LambdaExpr) node, solveLambdas);
         } else {
             return Optional.empty();
         }
     }
 
     /**
-     * For some reasons LambdaExprs are duplicate and the equals method is not implemented correctly.
-     *
-     * @param map
-     * @return
+     * For some reasons LambdaExprs are duplicate and the equals method is not implemented correctly, so a lambda
+     * not found in the cache is looked up among the ones with the same parent, by position.
      */
-    private Optional<Type> find(Map<Node, Type> map, LambdaExpr lambdaExpr) {
-        for (Node key : map.keySet()) {
-            if (key instanceof LambdaExpr) {
-                LambdaExpr keyLambdaExpr = (LambdaExpr) key;
-                if (keyLambdaExpr.toString().equals(lambdaExpr.toString()) && getParentNode(keyLambdaExpr) == getParentNode(lambdaExpr)) {
-                    return Optional.of(map.get(keyLambdaExpr));
-                }
-            }
+    private Optional<Type> find(LambdaExpr lambdaExpr, boolean solveLambdas) {
+        Node parent = getParentNode(lambdaExpr);
+        NodeData dataOfParent = parent == null ? null : peek(parent);
+        Map<Object, Type> lambdasOfParent = dataOfParent == null ? null : dataOfParent.getLambdas(solveLambdas, false);
+        if (lambdasOfParent == null) {
+            return Optional.empty();
+        }
+        return Optional.ofNullable(lambdasOfParent.get(getLambdaPosition(lambdaExpr)));
+    }
+
+    /**
+     * The range of the lambda in the source code or, for the lambdas created programmatically, its code.
+     */
+    private static Object getLambdaPosition(LambdaExpr lambdaExpr) {
+        if (lambdaExpr.getRange().isPresent()) {
+            return lambdaExpr.getRange().get();
         }
-        return Optional.empty();
+        return lambdaExpr.toString();
     }
 
     protected MethodUsage toMethodUsage(MethodReferenceExpr methodReferenceExpr) {
@@ -359,7 +714,7 @@ public class JavaParserFacade {
         if (!typeDeclarationSymbolReference.isSolved()) {
             throw new UnsupportedOperationException();
         }
-        List<MethodUsage> methodUsages = ((ReferenceTypeDeclaration) typeDeclarationSymbolReference.getCorrespondingDeclaration()).getAllMethods().stream().filter(it -> it.getName().equals(methodReferenceExpr.getIdentifier())).collect(Collectors.toList());
+        List<MethodUsage> methodUsages = ((ReferenceTypeDeclaration) typeDeclarationSymbolReference.getCorrespondingDeclaration()).getAllMethodsByName(methodReferenceExpr.getIdentifier());
         switch (methodUsages.size()) {
             case 0:
                 throw new UnsupportedOperationException();
@@ -370,13 +725,108 @@ public class JavaParserFacade {
         }
     }
 
-    protected Type getBinaryTypeConcrete(Node left, Node right, boolean solveLambdas) {
-        Type leftType = getTypeConcrete(left, solveLambdas);
-        Type rightType = getTypeConcrete(right, solveLambdas);
-        if (rightType.isAssignableBy(leftType)) {
-            return rightType;
+    /**
+     * Calculate the type of a binary expression.
+     * <p>
+     * Binary expressions nested on the left, like long concatenations of strings, are typed iteratively, starting from
+     * the innermost one. The type of each of them is cached as if getType had been invoked, and the operands are
+     * typed through getType, so each node of the chain is typed only once and the stack does not grow with the
+     * length of the chain.
+     */
+    protected Type getBinaryTypeConcrete(BinaryExpr binaryExpr, boolean solveLambdas) {
+        if (isBooleanOperator(binaryExpr.getOperator())) {
+            return PrimitiveType.BOOLEAN;
+        }
+        Deque<BinaryExpr> chain = new ArrayDeque<>();
+        chain.push(binaryExpr);
+        Expression left = binaryExpr.getLeft();
+        Type type = null;
+        while (type == null && left instanceof BinaryExpr) {
+            BinaryExpr leftBinaryExpr = (BinaryExpr) left;
+            type = getCachedType(leftBinaryExpr, solveLambdas);
+            if (type == null) {
+                if (isBooleanOperator(leftBinaryExpr.getOperator())) {
+                    type = PrimitiveType.BOOLEAN;
+                } else {
+                    chain.push(leftBinaryExpr);
+                    left = leftBinaryExpr.getLeft();
+                }
+            }
+        }
+        if (type == null) {
+            type = getType(left, solveLambdas);
+        }
+        while (!chain.isEmpty()) {
+            BinaryExpr current = chain.pop();
+            type = getBinaryType(current, type, solveLambdas);
+            // The outermost expression is cached by getType
+            if (current != binaryExpr) {
+                dataOf(current).setType(solveLambdas, type);
+            }
+        }
+        return type;
+    }
+
+    private Type getBinaryType(BinaryExpr binaryExpr, Type leftType, boolean solveLambdas) {
+        if (isArithmeticOperator(binaryExpr.getOperator())) {
+            Type rightType = getType(binaryExpr.getRight(), solveLambdas);
+            if (rightType.isAssignableBy(leftType)) {
+                return rightType;
+            }
+            return leftType;
+        }
+        switch (binaryExpr.getOperator()) {
+            case BINARY_AND:
+            case BINARY_OR:
+            case SIGNED_RIGHT_SHIFT:
+            case UNSIGNED_RIGHT_SHIFT:
+            case LEFT_SHIFT:
+            case REMAINDER:
+            case XOR:
+                return leftType;
+            default:
+                throw new UnsupportedOperationException("FOO " + binaryExpr.getOperator().name());
+        }
+    }
+
+    private static boolean isArithmeticOperator(BinaryExpr.Operator operator) {
+        switch (operator) {
+            case PLUS:
+            case MINUS:
+            case DIVIDE:
+            case MULTIPLY:
+                return true;
+            default:
+                return false;
+        }
+    }
+
+    private static boolean isBooleanOperator(BinaryExpr.Operator operator) {
+        switch (operator) {
+            case LESS_EQUALS:
+            case LESS:
+            case GREATER:
+            case GREATER_EQUALS:
+            case EQUALS:
+            case NOT_EQUALS:
+            case OR:
+            case AND:
+                return true;
+            default:
+                return false;
+        }
+    }
+
+    private Type getCachedType(Node node, boolean solveLambdas) {
+        NodeData data = peek(node);
+        if (data == null) {
+            return null;
         }
-        return leftType;
+        Type cached = data.getType(true);
+        if (cached == null && !solveLambdas) {
+            cached = data.getType(false);
+        }
+        return cached;
     }
 
 
@@ -386,6 +836,16 @@ public class JavaParserFacade {
      *
      * @return
      */
+    private Type getTypeConcrete(Node node, boolean solveLambdas, ResolutionListener listener) {
+        if (listener == ResolutionListener.NONE) {
+            return getTypeConcrete(node, solveLambdas);
+        }
+        long start = System.nanoTime();
+        Type res = getTypeConcrete(node, solveLambdas);
+        listener.nodeTyped(node, System.nanoTime() - start);
+        return res;
+    }
+
     private Type getTypeConcrete(Node node, boolean solveLambdas) {
         if (node == null) throw new IllegalArgumentException();
         return node.accept(typeExtractor, solveLambdas);
@@ -485,7 +945,7 @@ public class JavaParserFacade {
     }
 
     public MethodUsage solveMethodAsUsage(MethodCallExpr call) {
-        List<Type> params = new ArrayList<>();
+        List<Type> params = new ArrayList<>(call.getArguments().size());
         if (call.getArguments() != null) {
             for (Expression param : call.getArguments()) {
                 //getTypeConcrete(Node node, boolean solveLambdas)
@@ -515,13 +975,14 @@ public class JavaParserFacade {
      */
     public Type getTypeOfThisIn(Node node) {
         // TODO consider static methods
+        // The ancestors are visited in a loop, as the node could be deeply nested in an expression
+        while (!(node instanceof ClassOrInterfaceDeclaration || node instanceof EnumDeclaration)) {
+            node = getParentNode(node);
+        }
         if (node instanceof ClassOrInterfaceDeclaration) {
             return new ReferenceTypeImpl(getTypeDeclaration((ClassOrInterfaceDeclaration) node), typeSolver);
-        } else if (node instanceof EnumDeclaration) {
-            JavaParserEnumDeclaration enumDeclaration = new JavaParserEnumDeclaration((EnumDeclaration) node, typeSolver);
-            return new ReferenceTypeImpl(enumDeclaration, typeSolver);
         } else {
-            return getTypeOfThisIn(getParentNode(node));
+            return new ReferenceTypeImpl(getTypeDeclaration((EnumDeclaration) node), typeSolver);
         }
     }
 
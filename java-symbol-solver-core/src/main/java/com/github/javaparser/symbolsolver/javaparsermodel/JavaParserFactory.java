@@ -18,8 +18,12 @@ package com.github.javaparser.symbolsolver.javaparsermodel;
 
 import com.github.javaparser.ast.CompilationUnit;
 import com.github.javaparser.ast.Node;
+import com.github.javaparser.ast.NodeList;
 import com.github.javaparser.ast.body.*;
 import com.github.javaparser.ast.expr.*;
+import com.github.javaparser.ast.observer.AstObserver;
+import com.github.javaparser.ast.observer.AstObserverAdapter;
+import com.github.javaparser.ast.observer.ObservableProperty;
 import com.github.javaparser.ast.stmt.*;
 import com.github.javaparser.ast.type.TypeParameter;
 import com.github.javaparser.symbolsolver.core.resolution.Context;
@@ -28,15 +32,23 @@ import com.github.javaparser.symbolsolver.javaparsermodel.declarations.JavaParse
 import com.github.javaparser.symbolsolver.javaparsermodel.declarations.JavaParserClassDeclaration;
 import com.github.javaparser.symbolsolver.javaparsermodel.declarations.JavaParserEnumDeclaration;
 import com.github.javaparser.symbolsolver.javaparsermodel.declarations.JavaParserInterfaceDeclaration;
+import com.github.javaparser.symbolsolver.javaparsermodel.declarations.JavaParserMethodDeclaration;
 import com.github.javaparser.symbolsolver.javaparsermodel.declarations.JavaParserTypeParameter;
 import com.github.javaparser.symbolsolver.javaparsermodel.declarators.FieldSymbolDeclarator;
 import com.github.javaparser.symbolsolver.javaparsermodel.declarators.NoSymbolDeclarator;
 import com.github.javaparser.symbolsolver.javaparsermodel.declarators.ParameterSymbolDeclarator;
 import com.github.javaparser.symbolsolver.javaparsermodel.declarators.VariableSymbolDeclarator;
+import com.github.javaparser.symbolsolver.logic.AbstractTypeDeclaration;
 import com.github.javaparser.symbolsolver.model.declarations.ReferenceTypeDeclaration;
 import com.github.javaparser.symbolsolver.model.resolution.TypeSolver;
+import com.github.javaparser.symbolsolver.resolution.Instrumentation;
+import com.github.javaparser.symbolsolver.resolution.ResolutionListener;
 import com.github.javaparser.symbolsolver.resolution.SymbolDeclarator;
 
+import java.util.ArrayDeque;
+import java.util.Collection;
+import java.util.Deque;
+
 import static com.github.javaparser.symbolsolver.javaparser.Navigator.getParentNode;
 
 /**
@@ -44,10 +56,87 @@ import static com.github.javaparser.symbolsolver.javaparser.Navigator.getParentN
  */
 public class JavaParserFactory {
 
+    /**
+     * The contexts created for a node, by type solver. They are stored in the node itself, so that they are
+     * collected together with the AST they belong to.
+     */
+    private static final NodeCache<Context> CONTEXTS = new NodeCache<>();
+
+    /**
+     * The declarations created for a node, by type solver, stored as the contexts are.
+     */
+    private static final NodeCache<ReferenceTypeDeclaration> TYPE_DECLARATIONS = new NodeCache<>();
+    private static final NodeCache<JavaParserMethodDeclaration> METHOD_DECLARATIONS = new NodeCache<>();
+
+    /**
+     * Observes the nodes of the types which got a declaration, so that the declaration is dropped when they change.
+     */
+    private static final AstObserver TYPE_DECLARATIONS_OBSERVER = new TypeDeclarationsObserver();
+
+    /**
+     * Forget the contexts and the declarations created for the given node and for the nodes it contains, by all the
+     * type solvers: they are created again when they are requested. This is used when some of the code they depend on
+     * has changed, as they could keep information derived from it.
+     */
+    public static void clearCaches(Node node) {
+        // The nodes are visited in a loop, as the nodes of deeply nested expressions could be many
+        Deque<Node> toClear = new ArrayDeque<>();
+        toClear.push(node);
+        while (!toClear.isEmpty()) {
+            Node current = toClear.pop();
+            CONTEXTS.clear(current);
+            markOutdated(TYPE_DECLARATIONS.clear(current));
+            METHOD_DECLARATIONS.clear(current);
+            for (Node child : current.getChildNodes()) {
+                toClear.push(child);
+            }
+        }
+    }
+
+    /**
+     * Get the context of a node. Nodes which do not define a context of their own get the context of the closest
+     * ancestor defining one. Each context is created once and then reused, so that the chain of parent contexts is
+     * shared by all the lookups done in the same compilation unit.
+     */
     public static Context getContext(Node node, TypeSolver typeSolver) {
-        if (node == null) {
-            return null;
-        } else if (node instanceof CompilationUnit) {
+        // The ancestors are visited in a loop, as the nodes of deeply nested expressions could be many
+        while (node != null) {
+            Context context = CONTEXTS.get(node, typeSolver);
+            if (context != null) {
+                Instrumentation.getListener().cacheLookup(ResolutionListener.Cache.CONTEXTS, true);
+                return context;
+            }
+            context = createContext(node, typeSolver);
+            if (context != null) {
+                // Only the node defining the context counts as a lookup, not the ancestors visited to reach it
+                Instrumentation.getListener().cacheLookup(ResolutionListener.Cache.CONTEXTS, false);
+                return CONTEXTS.putIfAbsent(node, typeSolver, context);
+            }
+            // Only the contexts are cached and not the ancestor defining them: the node could be moved in the AST
+            node = getContextAncestor(node);
+        }
+        return null;
+    }
+
+    /**
+     * The ancestor from which the context of a node not defining one is taken.
+     */
+    private static Node getContextAncestor(Node node) {
+        if (node instanceof NameExpr) {
+            // to resolve a name when in a fieldAccess context, we can get to the grand parent to prevent a infinite loop if the name is the same as the field (ie x.x)
+            if (node.getParentNode().isPresent() && node.getParentNode().get() instanceof FieldAccessExpr && node.getParentNode().get().getParentNode().isPresent()) {
+                return node.getParentNode().get().getParentNode().get();
+            }
+        }
+        final Node parentNode = getParentNode(node);
+        if(parentNode instanceof ObjectCreationExpr && node == ((ObjectCreationExpr) parentNode).getType()) {
+            return getParentNode(parentNode);
+        }
+        return parentNode;
+    }
+
+    private static Context createContext(Node node, TypeSolver typeSolver) {
+        if (node instanceof CompilationUnit) {
             return new CompilationUnitContext((CompilationUnit) node, typeSolver);
         } else if (node instanceof ForeachStmt) {
             return new ForechStatementContext((ForeachStmt) node, typeSolver);
@@ -79,17 +168,7 @@ public class JavaParserFactory {
             ((ObjectCreationExpr) node).getAnonymousClassBody().isPresent()) {
             return new AnonymousClassDeclarationContext((ObjectCreationExpr) node, typeSolver);
         } else {
-            if (node instanceof NameExpr) {
-                // to resolve a name when in a fieldAccess context, we can get to the grand parent to prevent a infinite loop if the name is the same as the field (ie x.x)
-                if (node.getParentNode().isPresent() && node.getParentNode().get() instanceof FieldAccessExpr && node.getParentNode().get().getParentNode().isPresent()) {
-                    return getContext(node.getParentNode().get().getParentNode().get(), typeSolver);
-                }
-            }
-            final Node parentNode = getParentNode(node);
-            if(parentNode instanceof ObjectCreationExpr && node == ((ObjectCreationExpr) parentNode).getType()) {
-                return getContext(getParentNode(parentNode), typeSolver);
-            }
-            return getContext(parentNode, typeSolver);
+            return null;
         }
     }
 
@@ -115,7 +194,113 @@ public class JavaParserFactory {
         }
     }
     
+    /**
+     * Get the declaration of a type defined in the AST. The same declaration is returned every time the same node is
+     * given, so declarations can be compared by identity, until the type is changed: the declaration is then marked
+     * as outdated and a new one is created.
+     */
     public static ReferenceTypeDeclaration toTypeDeclaration(Node node, TypeSolver typeSolver) {
+        ReferenceTypeDeclaration declaration = TYPE_DECLARATIONS.get(node, typeSolver);
+        if (declaration != null) {
+            return declaration;
+        }
+        declaration = TYPE_DECLARATIONS.putIfAbsent(node, typeSolver, createTypeDeclaration(node, typeSolver));
+        observeType(node);
+        return declaration;
+    }
+
+    /**
+     * Register the observer of the type declarations on the node of a type and on the nodes declaring its
+     * signature: name, type parameters, supertypes and members. The bodies of the methods and the initializers
+     * of the fields are not observed, as the declaration does not depend on them.
+     */
+    private static void observeType(Node node) {
+        // The nodes are visited in a loop, as the nodes of deeply nested types could be many
+        Deque<Node> toObserve = new ArrayDeque<>();
+        toObserve.push(node);
+        while (!toObserve.isEmpty()) {
+            Node current = toObserve.pop();
+            // Neither the observers of a node nor the ones of its lists are synchronized
+            synchronized (current) {
+                if (current.isRegistered(TYPE_DECLARATIONS_OBSERVER)) {
+                    continue;
+                }
+                current.register(TYPE_DECLARATIONS_OBSERVER);
+                for (NodeList<?> list : current.getNodeLists()) {
+                    if (list != null && !list.isRegistered(TYPE_DECLARATIONS_OBSERVER)) {
+                        list.register(TYPE_DECLARATIONS_OBSERVER);
+                    }
+                }
+            }
+            for (Node child : current.getChildNodes()) {
+                if (!(child instanceof Statement) && !(child instanceof Expression)) {
+                    toObserve.push(child);
+                }
+            }
+        }
+    }
+
+    /**
+     * Drop the declarations of the types containing the given node, as it has changed.
+     */
+    private static void typeChanged(Node node) {
+        while (node != null) {
+            markOutdated(TYPE_DECLARATIONS.clear(node));
+            node = node.getParentNode().orElse(null);
+        }
+    }
+
+    private static void markOutdated(Collection<ReferenceTypeDeclaration> declarations) {
+        for (ReferenceTypeDeclaration declaration : declarations) {
+            if (declaration instanceof AbstractTypeDeclaration) {
+                ((AbstractTypeDeclaration) declaration).markOutdated();
+            }
+        }
+    }
+
+    /**
+     * Any change to the nodes observed, or to their lists, drops the declarations of the types containing them.
+     * AstObserverAdapter declares the lists as raw types, and a NodeList<?> parameter would not override its methods.
+     */
+    private static final class TypeDeclarationsObserver extends AstObserverAdapter {
+
+        @Override
+        public void propertyChange(Node observedNode, ObservableProperty property, Object oldValue, Object newValue) {
+            typeChanged(observedNode);
+        }
+
+        @Override
+        public void parentChange(Node observedNode, Node previousParent, Node newParent) {
+            typeChanged(previousParent);
+            typeChanged(newParent);
+        }
+
+        @SuppressWarnings("rawtypes")
+        @Override
+        public void listChange(NodeList observedNode, AstObserver.ListChangeType type, int index, Node nodeAddedOrRemoved) {
+            typeChanged((Node) observedNode.getParentNode().orElse(null));
+        }
+
+        @SuppressWarnings("rawtypes")
+        @Override
+        public void listReplacement(NodeList observedNode, int index, Node oldNode, Node newNode) {
+            typeChanged((Node) observedNode.getParentNode().orElse(null));
+        }
+    }
+
+    /**
+     * Get the declaration of a method defined in the AST. The same declaration is returned every time the same node
+     * is given, so declarations can be compared by identity.
+     */
+    public static JavaParserMethodDeclaration toMethodDeclaration(MethodDeclaration node, TypeSolver typeSolver) {
+        JavaParserMethodDeclaration declaration = METHOD_DECLARATIONS.get(node, typeSolver);
+        if (declaration != null) {
+            return declaration;
+        }
+        return METHOD_DECLARATIONS.putIfAbsent(node, typeSolver, new JavaParserMethodDeclaration(node, typeSolver));
+    }
+
+    private static ReferenceTypeDeclaration createTypeDeclaration(Node node, TypeSolver typeSolver) {
         if (node instanceof ClassOrInterfaceDeclaration) {
             if (((ClassOrInterfaceDeclaration) node).isInterface()) {
                 return new JavaParserInterfaceDeclaration((ClassOrInterfaceDeclaration) node, typeSolver);
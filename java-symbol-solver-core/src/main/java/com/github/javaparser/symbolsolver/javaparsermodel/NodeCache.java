@@ -0,0 +1,110 @@
+/*
+ * Copyright 2016 Federico Tomassetti
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.github.javaparser.symbolsolver.javaparsermodel;
+
+import com.github.javaparser.ast.DataKey;
+import com.github.javaparser.ast.Node;
+
+import java.util.Collection;
+import java.util.Collections;
+import java.util.IdentityHashMap;
+import java.util.Map;
+
+/**
+ * Values calculated for the nodes of an AST and stored in the nodes themselves, so that they are collected together
+ * with the AST they belong to. Each node keeps a value for each owner, like the type solver or the facade which
+ * calculated it.
+ * <p>
+ * JavaParser keeps the data of a node in a map which is not synchronized, while the ASTs found by a type solver are
+ * shared by all the threads using it: the data is read and written holding the lock of the node.
+ *
+ * @author Federico Tomassetti
+ */
+public final class NodeCache<T> {
+
+    // The data of a node is indexed by the identity of the keys, so each cache has its own key
+    private final DataKey<Map<Object, T>> key = new DataKey<Map<Object, T>>() {
+    };
+
+    /**
+     * The value stored in the node for the given owner, or null.
+     */
+    public T get(Node node, Object owner) {
+        synchronized (node) {
+            Map<Object, T> values = node.getData(key);
+            return values == null ? null : values.get(owner);
+        }
+    }
+
+    /**
+     * Store a value in the node for the given owner, replacing the value stored before.
+     */
+    public T put(Node node, Object owner, T value) {
+        synchronized (node) {
+            valuesOf(node).put(owner, value);
+        }
+        return value;
+    }
+
+    /**
+     * Store a value in the node for the given owner, unless another thread has stored one in the meantime. The value
+     * stored in the node is returned, so that all the threads get the same one.
+     */
+    public T putIfAbsent(Node node, Object owner, T value) {
+        synchronized (node) {
+            T previous = valuesOf(node).putIfAbsent(owner, value);
+            return previous == null ? value : previous;
+        }
+    }
+
+    /**
+     * Remove the value stored in the node for the given owner, if it is still the given one.
+     */
+    public void remove(Node node, Object owner, T value) {
+        synchronized (node) {
+            Map<Object, T> values = node.getData(key);
+            if (values != null) {
+                values.remove(owner, value);
+            }
+        }
+    }
+
+    /**
+     * Remove the values stored in the node for all the owners, and return them.
+     */
+    public Collection<T> clear(Node node) {
+        synchronized (node) {
+            Map<Object, T> values = node.getData(key);
+            if (values == null) {
+                return Collections.emptyList();
+            }
+            // Nodes do not allow to remove their data
+            node.setData(key, null);
+            return values.values();
+        }
+    }
+
+    // Called holding the lock of the node
+    private Map<Object, T> valuesOf(Node node) {
+        Map<Object, T> values = node.getData(key);
+        if (values == null) {
+            values = new IdentityHashMap<>(2);
+            node.setData(key, values);
+        }
+        return values;
+    }
+}
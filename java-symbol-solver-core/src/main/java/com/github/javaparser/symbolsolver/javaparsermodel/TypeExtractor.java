@@ -79,7 +79,7 @@ public class TypeExtractor extends DefaultVisitorAdapter {
 
     @Override
     public Type visit(ArrayAccessExpr node, Boolean solveLambdas) {
-        Type arrayUsageType = node.getName().accept(this, solveLambdas);
+        Type arrayUsageType = facade.getType(node.getName(), solveLambdas);
         if (arrayUsageType.isArray()) {
             return ((ArrayType) arrayUsageType).getComponentType();
         }
@@ -107,32 +107,7 @@ public class TypeExtractor extends DefaultVisitorAdapter {
 
     @Override
     public Type visit(BinaryExpr node, Boolean solveLambdas) {
-        switch (node.getOperator()) {
-            case PLUS:
-            case MINUS:
-            case DIVIDE:
-            case MULTIPLY:
-                return facade.getBinaryTypeConcrete(node.getLeft(), node.getRight(), solveLambdas);
-            case LESS_EQUALS:
-            case LESS:
-            case GREATER:
-            case GREATER_EQUALS:
-            case EQUALS:
-            case NOT_EQUALS:
-            case OR:
-            case AND:
-                return PrimitiveType.BOOLEAN;
-            case BINARY_AND:
-            case BINARY_OR:
-            case SIGNED_RIGHT_SHIFT:
-            case UNSIGNED_RIGHT_SHIFT:
-            case LEFT_SHIFT:
-            case REMAINDER:
-            case XOR:
-                return node.getLeft().accept(this, solveLambdas);
-            default:
-                throw new UnsupportedOperationException("FOO " + node.getOperator().name());
-        }
+        return facade.getBinaryTypeConcrete(node, solveLambdas);
     }
 
     @Override
@@ -150,12 +125,12 @@ public class TypeExtractor extends DefaultVisitorAdapter {
 
     @Override
     public Type visit(ConditionalExpr node, Boolean solveLambdas) {
-        return node.getThenExpr().accept(this, solveLambdas);
+        return facade.getType(node.getThenExpr(), solveLambdas);
     }
 
     @Override
     public Type visit(EnclosedExpr node, Boolean solveLambdas) {
-        return node.getInner().accept(this, solveLambdas);
+        return facade.getType(node.getInner(), solveLambdas);
     }
 
     /**
@@ -268,11 +243,16 @@ public class TypeExtractor extends DefaultVisitorAdapter {
 
     @Override
     public Type visit(MethodCallExpr node, Boolean solveLambdas) {
-        logger.finest("getType on method call " + node);
+        // The call is printed only when needed, as printing long chains of calls is expensive
+        if (logger.isLoggable(Level.FINEST)) {
+            logger.finest("getType on method call " + node);
+        }
         // first solve the method
         MethodUsage ref = facade.solveMethodAsUsage(node);
-        logger.finest("getType on method call " + node + " resolved to " + ref);
-        logger.finest("getType on method call " + node + " return type is " + ref.returnType());
+        if (logger.isLoggable(Level.FINEST)) {
+            logger.finest("getType on method call " + node + " resolved to " + ref);
+            logger.finest("getType on method call " + node + " return type is " + ref.returnType());
+        }
         return ref.returnType();
         // the type is the return type of the method
     }
@@ -333,14 +313,14 @@ public class TypeExtractor extends DefaultVisitorAdapter {
         switch (node.getOperator()) {
             case MINUS:
             case PLUS:
-                return node.getExpression().accept(this, solveLambdas);
+                return facade.getType(node.getExpression(), solveLambdas);
             case LOGICAL_COMPLEMENT:
                 return PrimitiveType.BOOLEAN;
             case POSTFIX_DECREMENT:
             case PREFIX_DECREMENT:
             case POSTFIX_INCREMENT:
             case PREFIX_INCREMENT:
-                return node.getExpression().accept(this, solveLambdas);
+                return facade.getType(node.getExpression(), solveLambdas);
             default:
                 throw new UnsupportedOperationException(node.getOperator().name());
         }
@@ -27,6 +27,7 @@ import com.github.javaparser.symbolsolver.model.resolution.SymbolReference;
 import com.github.javaparser.symbolsolver.model.resolution.TypeSolver;
 import com.github.javaparser.symbolsolver.model.resolution.Value;
 import com.github.javaparser.symbolsolver.model.typesystem.Type;
+import com.github.javaparser.symbolsolver.resolution.Instrumentation;
 import com.github.javaparser.symbolsolver.resolution.SymbolDeclarator;
 
 import java.util.Optional;
@@ -99,6 +100,7 @@ public abstract class AbstractJavaParserContext<N extends Node> implements Conte
 
     @Override
     public final Context getParent() {
+        Instrumentation.getListener().parentContextRequested(this);
         if (getParentNode(wrappedNode) instanceof MethodCallExpr) {
             MethodCallExpr parentCall = (MethodCallExpr) getParentNode(wrappedNode);
             boolean found = false;
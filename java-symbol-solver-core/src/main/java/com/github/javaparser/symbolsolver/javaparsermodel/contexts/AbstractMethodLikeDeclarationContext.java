@@ -4,6 +4,7 @@ import com.github.javaparser.ast.Node;
 import com.github.javaparser.ast.body.Parameter;
 import com.github.javaparser.ast.nodeTypes.NodeWithParameters;
 import com.github.javaparser.ast.nodeTypes.NodeWithTypeParameters;
+import com.github.javaparser.symbolsolver.javaparser.Navigator;
 import com.github.javaparser.symbolsolver.javaparsermodel.JavaParserFacade;
 import com.github.javaparser.symbolsolver.javaparsermodel.JavaParserFactory;
 import com.github.javaparser.symbolsolver.javaparsermodel.declarations.JavaParserTypeParameter;
@@ -79,7 +80,7 @@ public abstract class AbstractMethodLikeDeclarationContext
         }
         
         // Local types
-        List<com.github.javaparser.ast.body.TypeDeclaration> localTypes = wrappedNode.getChildNodesByType(
+        List<com.github.javaparser.ast.body.TypeDeclaration> localTypes = Navigator.findAllNodesOfGivenClass(wrappedNode,
                 com.github.javaparser.ast.body.TypeDeclaration.class);
         for (com.github.javaparser.ast.body.TypeDeclaration<?> localType : localTypes) {
             if (localType.getName().getId().equals(name)) {
@@ -45,10 +45,18 @@ public class AnonymousClassDeclarationContext extends AbstractJavaParserContext<
                                                         TypeSolver typeSolver) {
     List<MethodDeclaration> candidateMethods =
         myDeclaration
-            .getDeclaredMethods()
+            .getDeclaredMethodsByName(name, argumentsTypes.size())
             .stream()
-            .filter(m -> m.getName().equals(name) && (!staticOnly || m.isStatic()))
+            .filter(m -> !staticOnly || m.isStatic())
             .collect(Collectors.toList());
+    // Methods with the same name but a different number of parameters cannot be applicable: still they
+    // prevent looking for the method in the enclosing contexts
+    boolean declaresMethodsWithName =
+        !candidateMethods.isEmpty()
+            || myDeclaration
+                   .getDeclaredMethodsByName(name)
+                   .stream()
+                   .anyMatch(m -> !staticOnly || m.isStatic());
 
     if (!Object.class.getCanonicalName().equals(myDeclaration.getQualifiedName())) {
       for (ReferenceType ancestor : myDeclaration.getAncestors()) {
@@ -69,7 +77,7 @@ public class AnonymousClassDeclarationContext extends AbstractJavaParserContext<
 
     // We want to avoid infinite recursion when a class is using its own method
     // see issue #75
-    if (candidateMethods.isEmpty()) {
+    if (candidateMethods.isEmpty() && !declaresMethodsWithName) {
       SymbolReference<MethodDeclaration> parentSolution =
           getParent().solveMethod(name, argumentsTypes, staticOnly, typeSolver);
       if (parentSolution.isSolved()) {
@@ -78,7 +86,8 @@ public class AnonymousClassDeclarationContext extends AbstractJavaParserContext<
     }
 
     // if is interface and candidate method list is empty, we should check the Object Methods
-    if (candidateMethods.isEmpty() && myDeclaration.getSuperTypeDeclaration().isInterface()) {
+    if (candidateMethods.isEmpty() && !declaresMethodsWithName
+        && myDeclaration.getSuperTypeDeclaration().isInterface()) {
       SymbolReference<MethodDeclaration> res =
           MethodResolutionLogic.solveMethodInType(new ReflectionClassDeclaration(Object.class,
                                                                                  typeSolver),
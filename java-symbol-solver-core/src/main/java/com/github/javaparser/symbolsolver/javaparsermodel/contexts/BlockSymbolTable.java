@@ -0,0 +1,186 @@
+/*
+ * Copyright 2016 Federico Tomassetti
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.github.javaparser.symbolsolver.javaparsermodel.contexts;
+
+import com.github.javaparser.ast.DataKey;
+import com.github.javaparser.ast.Node;
+import com.github.javaparser.ast.NodeList;
+import com.github.javaparser.ast.body.VariableDeclarator;
+import com.github.javaparser.ast.expr.Expression;
+import com.github.javaparser.ast.expr.VariableDeclarationExpr;
+import com.github.javaparser.ast.nodeTypes.NodeWithStatements;
+import com.github.javaparser.ast.observer.AstObserver;
+import com.github.javaparser.ast.observer.AstObserverAdapter;
+import com.github.javaparser.ast.observer.Observable;
+import com.github.javaparser.ast.observer.ObservableProperty;
+import com.github.javaparser.ast.stmt.ExpressionStmt;
+import com.github.javaparser.ast.stmt.ForeachStmt;
+import com.github.javaparser.ast.stmt.Statement;
+import com.github.javaparser.symbolsolver.javaparsermodel.JavaParserFactory;
+import com.github.javaparser.symbolsolver.model.declarations.ValueDeclaration;
+import com.github.javaparser.symbolsolver.model.resolution.TypeSolver;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.IdentityHashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * The symbols declared by the statements of a block, each one with the positions of the statements declaring it,
+ * and the position of each statement in the block. Statements are compared by identity: looking for a statement by
+ * equals would compare whole subtrees.
+ * <p>
+ * The table is built the first time a symbol is looked up in the block, it is stored in the block itself and it
+ * is reused by all the lookups done in it until the list of statements of the block is changed, or until one of the
+ * nodes determining the names declared by the statements is: the variable declarations, their variables and the
+ * names of the variables. Only those nodes are observed, and not the whole subtree of the block.
+ *
+ * @author Federico Tomassetti
+ */
+class BlockSymbolTable extends AstObserverAdapter {
+
+    private static final DataKey<BlockSymbolTable> SYMBOL_TABLE = new DataKey<BlockSymbolTable>() {
+    };
+
+    private final NodeList<Statement> statements;
+    private final Map<String, int[]> positionsByName;
+    private final Map<Statement, Integer> positionsOfStatements;
+    private final List<Observable> observed = new ArrayList<>();
+    private volatile boolean valid = true;
+
+    private BlockSymbolTable(NodeList<Statement> statements, TypeSolver typeSolver) {
+        this.statements = statements;
+        this.positionsOfStatements = new IdentityHashMap<>(statements.size());
+        Map<String, List<Integer>> positions = new HashMap<>();
+        for (int i = 0; i < statements.size(); i++) {
+            positionsOfStatements.put(statements.get(i), i);
+            for (ValueDeclaration declaration : JavaParserFactory.getSymbolDeclarator(statements.get(i), typeSolver).getSymbolDeclarations()) {
+                List<Integer> positionsOfName = positions.computeIfAbsent(declaration.getName(), name -> new ArrayList<>(1));
+                if (positionsOfName.isEmpty() || positionsOfName.get(positionsOfName.size() - 1) != i) {
+                    positionsOfName.add(i);
+                }
+            }
+        }
+        this.positionsByName = new HashMap<>(positions.size() * 2);
+        positions.forEach((name, positionsOfName) ->
+                positionsByName.put(name, positionsOfName.stream().mapToInt(Integer::intValue).toArray()));
+    }
+
+    /**
+     * Get the symbol table of a block, building it if it is missing or if the statements of the block changed.
+     * <p>
+     * The blocks of the ASTs found by a type solver are shared by the threads using it, while neither the data of a
+     * node nor the observers of a list are synchronized: the table is read, rebuilt and registered holding the lock
+     * of the block, as the other caches stored in the nodes are.
+     */
+    static BlockSymbolTable of(NodeWithStatements<?> block, TypeSolver typeSolver) {
+        Node node = (Node) block;
+        synchronized (node) {
+            BlockSymbolTable table = node.getData(SYMBOL_TABLE);
+            if (table == null || !table.valid || table.statements != block.getStatements()) {
+                if (table != null) {
+                    for (Observable observable : table.observed) {
+                        observable.unregister(table);
+                    }
+                }
+                table = new BlockSymbolTable(block.getStatements(), typeSolver);
+                table.observeDeclaringNodes();
+                node.setData(SYMBOL_TABLE, table);
+            }
+            return table;
+        }
+    }
+
+    /**
+     * Register the table on the list of statements and on the nodes from which getSymbolDeclarator takes the
+     * declared names.
+     */
+    private void observeDeclaringNodes() {
+        observe(statements);
+        for (Statement statement : statements) {
+            Expression expression = null;
+            if (statement instanceof ExpressionStmt) {
+                expression = ((ExpressionStmt) statement).getExpression();
+            } else if (statement instanceof ForeachStmt) {
+                expression = ((ForeachStmt) statement).getVariable();
+            } else {
+                continue;
+            }
+            observe(statement);
+            if (expression instanceof VariableDeclarationExpr) {
+                VariableDeclarationExpr declaration = (VariableDeclarationExpr) expression;
+                observe(declaration);
+                observe(declaration.getVariables());
+                for (VariableDeclarator variable : declaration.getVariables()) {
+                    observe(variable);
+                    observe(variable.getName());
+                }
+            }
+        }
+    }
+
+    private void observe(Observable observable) {
+        observable.register(this);
+        observed.add(observable);
+    }
+
+    /**
+     * The position of the given statement in the block, or -1 if it does not belong to the block.
+     */
+    int positionOf(Statement statement) {
+        Integer position = positionsOfStatements.get(statement);
+        return position == null ? -1 : position;
+    }
+
+    /**
+     * The position of the closest statement preceding the given position which declares the given name, or -1 if
+     * no preceding statement declares it.
+     */
+    int lastDeclarationBefore(String name, int position) {
+        int[] positions = positionsByName.get(name);
+        if (positions == null) {
+            return -1;
+        }
+        int index = Arrays.binarySearch(positions, position);
+        int previous = (index >= 0 ? index : -index - 1) - 1;
+        return previous >= 0 ? positions[previous] : -1;
+    }
+
+    ///
+    /// The table is rebuilt when a statement is added, removed or replaced, or when a declaration is changed.
+    /// AstObserverAdapter declares the lists as raw types, and a NodeList<?> parameter would not override its methods.
+    ///
+
+    @Override
+    public void propertyChange(Node observedNode, ObservableProperty property, Object oldValue, Object newValue) {
+        valid = false;
+    }
+
+    @SuppressWarnings("rawtypes")
+    @Override
+    public void listChange(NodeList observedNode, AstObserver.ListChangeType type, int index, Node nodeAddedOrRemoved) {
+        valid = false;
+    }
+
+    @SuppressWarnings("rawtypes")
+    @Override
+    public void listReplacement(NodeList observedNode, int index, Node oldNode, Node newNode) {
+        valid = false;
+    }
+}
@@ -18,8 +18,8 @@ package com.github.javaparser.symbolsolver.javaparsermodel.contexts;
 
 import com.github.javaparser.ast.body.EnumConstantDeclaration;
 import com.github.javaparser.ast.body.EnumDeclaration;
+import com.github.javaparser.symbolsolver.javaparsermodel.JavaParserFactory;
 import com.github.javaparser.symbolsolver.javaparsermodel.declarations.JavaParserEnumConstantDeclaration;
-import com.github.javaparser.symbolsolver.javaparsermodel.declarations.JavaParserEnumDeclaration;
 import com.github.javaparser.symbolsolver.model.declarations.ReferenceTypeDeclaration;
 import com.github.javaparser.symbolsolver.model.declarations.ValueDeclaration;
 import com.github.javaparser.symbolsolver.model.resolution.SymbolReference;
@@ -75,6 +75,6 @@ public class EnumDeclarationContext extends AbstractJavaParserContext<EnumDeclar
     ///
 
     private ReferenceTypeDeclaration getDeclaration() {
-        return new JavaParserEnumDeclaration(this.wrappedNode, typeSolver);
+        return JavaParserFactory.toTypeDeclaration(this.wrappedNode, typeSolver);
     }
 }
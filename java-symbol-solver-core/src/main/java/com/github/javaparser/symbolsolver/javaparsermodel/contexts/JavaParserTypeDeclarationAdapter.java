@@ -84,10 +84,13 @@ public class JavaParserTypeDeclarationAdapter {
     }
 
     public SymbolReference<MethodDeclaration> solveMethod(String name, List<Type> argumentsTypes, boolean staticOnly, TypeSolver typeSolver) {
-        List<MethodDeclaration> candidateMethods = typeDeclaration.getDeclaredMethods().stream()
-                .filter(m -> m.getName().equals(name))
+        List<MethodDeclaration> candidateMethods = typeDeclaration.getDeclaredMethodsByName(name, argumentsTypes.size()).stream()
                 .filter(m -> !staticOnly || (staticOnly &&  m.isStatic()))
                 .collect(Collectors.toList());
+        // Methods with the same name but a different number of parameters cannot be applicable: still they
+        // prevent looking for the method in the enclosing contexts
+        boolean declaresMethodsWithName = !candidateMethods.isEmpty() || typeDeclaration.getDeclaredMethodsByName(name).stream()
+                .anyMatch(m -> !staticOnly || (staticOnly &&  m.isStatic()));
         // We want to avoid infinite recursion in case of Object having Object as ancestor
         if (!Object.class.getCanonicalName().equals(typeDeclaration.getQualifiedName())) {
             for (ReferenceType ancestor : typeDeclaration.getAncestors()) {
@@ -106,7 +109,7 @@ public class JavaParserTypeDeclarationAdapter {
         }
         // We want to avoid infinite recursion when a class is using its own method
         // see issue #75
-        if (candidateMethods.isEmpty()) {
+        if (candidateMethods.isEmpty() && !declaresMethodsWithName) {
             SymbolReference<MethodDeclaration> parentSolution = context.getParent().solveMethod(name, argumentsTypes, staticOnly, typeSolver);
             if (parentSolution.isSolved()) {
                 candidateMethods.add(parentSolution.getCorrespondingDeclaration());
@@ -114,7 +117,7 @@ public class JavaParserTypeDeclarationAdapter {
         }
 
         // if is interface and candidate method list is empty, we should check the Object Methods
-        if (candidateMethods.isEmpty() && typeDeclaration.isInterface()) {
+        if (candidateMethods.isEmpty() && !declaresMethodsWithName && typeDeclaration.isInterface()) {
             SymbolReference<MethodDeclaration> res = MethodResolutionLogic.solveMethodInType(new ReflectionClassDeclaration(Object.class, typeSolver), name, argumentsTypes, false, typeSolver);
             if (res.isSolved()) {
                 candidateMethods.add(res.getCorrespondingDeclaration());
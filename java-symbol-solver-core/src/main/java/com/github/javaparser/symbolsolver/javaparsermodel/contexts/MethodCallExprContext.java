@@ -23,6 +23,7 @@ import com.github.javaparser.symbolsolver.core.resolution.Context;
 import com.github.javaparser.symbolsolver.javaparsermodel.JavaParserFacade;
 import com.github.javaparser.symbolsolver.model.declarations.MethodDeclaration;
 import com.github.javaparser.symbolsolver.model.declarations.ParameterDeclaration;
+import com.github.javaparser.symbolsolver.model.declarations.ReferenceTypeDeclaration;
 import com.github.javaparser.symbolsolver.model.declarations.TypeDeclaration;
 import com.github.javaparser.symbolsolver.model.declarations.TypeParameterDeclaration;
 import com.github.javaparser.symbolsolver.model.declarations.ValueDeclaration;
@@ -115,11 +116,7 @@ public class MethodCallExprContext extends AbstractJavaParserContext<MethodCallE
 
             return solveMethodAsUsage(typeOfScope, name, argumentsTypes, typeSolver, this);
         } else {
-            Context parentContext = getParent();
-            while (parentContext instanceof MethodCallExprContext) {
-                parentContext = parentContext.getParent();
-            }
-            return parentContext.solveMethodAsUsage(name, argumentsTypes, typeSolver);
+            return getEnclosingContext().solveMethodAsUsage(name, argumentsTypes, typeSolver);
         }
     }
 
@@ -141,15 +138,23 @@ public class MethodCallExprContext extends AbstractJavaParserContext<MethodCallE
         return methodUsage;
     }
 
+    @Override
+    public SymbolReference<TypeDeclaration> solveType(String name, TypeSolver typeSolver) {
+        Context enclosingContext = getEnclosingContext();
+        if (enclosingContext == null) {
+            return SymbolReference.unsolved(ReferenceTypeDeclaration.class);
+        }
+        return enclosingContext.solveType(name, typeSolver);
+    }
+
     @Override
     public SymbolReference<? extends ValueDeclaration> solveSymbol(String name, TypeSolver typeSolver) {
-        return getParent().solveSymbol(name, typeSolver);
+        return getEnclosingContext().solveSymbol(name, typeSolver);
     }
 
     @Override
     public Optional<Value> solveSymbolAsValue(String name, TypeSolver typeSolver) {
-        Context parentContext = getParent();
-        return parentContext.solveSymbolAsValue(name, typeSolver);
+        return getEnclosingContext().solveSymbolAsValue(name, typeSolver);
     }
 
     @Override
@@ -205,6 +210,18 @@ public class MethodCallExprContext extends AbstractJavaParserContext<MethodCallE
     /// Private methods
     ///
 
+    /**
+     * The closest context, among the ancestors, which is not a method call. Method calls delegate types and symbols
+     * to their parent, so the calls nested one in the other are skipped in a loop instead of recursively.
+     */
+    private Context getEnclosingContext() {
+        Context parentContext = getParent();
+        while (parentContext instanceof MethodCallExprContext) {
+            parentContext = parentContext.getParent();
+        }
+        return parentContext;
+    }
+
     private Optional<MethodUsage> solveMethodAsUsage(ReferenceType refType, String name,
                                                      List<Type> argumentsTypes, TypeSolver typeSolver,
                                                      Context invokationContext) {
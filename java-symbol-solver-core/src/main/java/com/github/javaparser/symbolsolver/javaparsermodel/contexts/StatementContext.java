@@ -50,21 +50,9 @@ public class StatementContext<N extends Statement> extends AbstractJavaParserCon
             throw new IllegalArgumentException();
         }
         NodeWithStatements<?> blockStmt = (NodeWithStatements<?>) getParentNode(stmt);
-        int position = -1;
-        for (int i = 0; i < blockStmt.getStatements().size(); i++) {
-            if (blockStmt.getStatements().get(i).equals(stmt)) {
-                position = i;
-            }
-        }
-        if (position == -1) {
-            throw new RuntimeException();
-        }
-        for (int i = position - 1; i >= 0; i--) {
-            SymbolDeclarator symbolDeclarator = JavaParserFactory.getSymbolDeclarator(blockStmt.getStatements().get(i), typeSolver);
-            SymbolReference<? extends ValueDeclaration> symbolReference = solveWith(symbolDeclarator, name);
-            if (symbolReference.isSolved()) {
-                return symbolReference;
-            }
+        SymbolDeclarator symbolDeclarator = precedingDeclarator(blockStmt, stmt, name, typeSolver);
+        if (symbolDeclarator != null) {
+            return solveWith(symbolDeclarator, name);
         }
 
         // if nothing is found we should ask the parent context
@@ -76,21 +64,10 @@ public class StatementContext<N extends Statement> extends AbstractJavaParserCon
             throw new IllegalArgumentException();
         }
         NodeWithStatements<?> blockStmt = (NodeWithStatements<?>) getParentNode(stmt);
-        int position = -1;
-        for (int i = 0; i < blockStmt.getStatements().size(); i++) {
-            if (blockStmt.getStatements().get(i).equals(stmt)) {
-                position = i;
-            }
-        }
-        if (position == -1) {
-            throw new RuntimeException();
-        }
-        for (int i = position - 1; i >= 0; i--) {
-            SymbolDeclarator symbolDeclarator = JavaParserFactory.getSymbolDeclarator(blockStmt.getStatements().get(i), typeSolver);
+        SymbolDeclarator symbolDeclarator = precedingDeclarator(blockStmt, stmt, name, typeSolver);
+        if (symbolDeclarator != null) {
             SymbolReference<? extends ValueDeclaration> symbolReference = solveWith(symbolDeclarator, name);
-            if (symbolReference.isSolved()) {
-                return Optional.of(Value.from(symbolReference.getCorrespondingDeclaration()));
-            }
+            return Optional.of(Value.from(symbolReference.getCorrespondingDeclaration()));
         }
 
         // if nothing is found we should ask the parent context
@@ -121,21 +98,9 @@ public class StatementContext<N extends Statement> extends AbstractJavaParserCon
             return getParent().solveSymbolAsValue(name, typeSolver);
         }
         NodeWithStatements<?> nodeWithStmt = (NodeWithStatements<?>) getParentNode(wrappedNode);
-        int position = -1;
-        for (int i = 0; i < nodeWithStmt.getStatements().size(); i++) {
-            if (nodeWithStmt.getStatements().get(i).equals(wrappedNode)) {
-                position = i;
-            }
-        }
-        if (position == -1) {
-            throw new RuntimeException();
-        }
-        for (int i = position - 1; i >= 0; i--) {
-            symbolDeclarator = JavaParserFactory.getSymbolDeclarator(nodeWithStmt.getStatements().get(i), typeSolver);
-            symbolReference = solveWithAsValue(symbolDeclarator, name, typeSolver);
-            if (symbolReference.isPresent()) {
-                return symbolReference;
-            }
+        symbolDeclarator = precedingDeclarator(nodeWithStmt, wrappedNode, name, typeSolver);
+        if (symbolDeclarator != null) {
+            return solveWithAsValue(symbolDeclarator, name, typeSolver);
         }
 
         // if nothing is found we should ask the parent context
@@ -167,21 +132,9 @@ public class StatementContext<N extends Statement> extends AbstractJavaParserCon
             return getParent().solveSymbol(name, typeSolver);
         }
         NodeWithStatements<?> nodeWithStmt = (NodeWithStatements<?>) getParentNode(wrappedNode);
-        int position = -1;
-        for (int i = 0; i < nodeWithStmt.getStatements().size(); i++) {
-            if (nodeWithStmt.getStatements().get(i).equals(wrappedNode)) {
-                position = i;
-            }
-        }
-        if (position == -1) {
-            throw new RuntimeException();
-        }
-        for (int i = position - 1; i >= 0; i--) {
-            symbolDeclarator = JavaParserFactory.getSymbolDeclarator(nodeWithStmt.getStatements().get(i), typeSolver);
-            symbolReference = solveWith(symbolDeclarator, name);
-            if (symbolReference.isSolved()) {
-                return symbolReference;
-            }
+        symbolDeclarator = precedingDeclarator(nodeWithStmt, wrappedNode, name, typeSolver);
+        if (symbolDeclarator != null) {
+            return solveWith(symbolDeclarator, name);
         }
 
         // if nothing is found we should ask the parent context
@@ -197,4 +150,27 @@ public class StatementContext<N extends Statement> extends AbstractJavaParserCon
     public SymbolReference<TypeDeclaration> solveType(String name, TypeSolver typeSolver) {
         return getParent().solveType(name, typeSolver);
     }
+
+    ///
+    /// Private methods
+    ///
+
+    /**
+     * Find the closest statement preceding the given one in the block which declares the given name, using the
+     * symbol table of the block.
+     *
+     * @return the declarator of that statement or null if no preceding statement declares the name
+     */
+    private static SymbolDeclarator precedingDeclarator(NodeWithStatements<?> block, Statement stmt, String name, TypeSolver typeSolver) {
+        BlockSymbolTable symbolTable = BlockSymbolTable.of(block, typeSolver);
+        int position = symbolTable.positionOf(stmt);
+        if (position == -1) {
+            throw new RuntimeException();
+        }
+        int declaringPosition = symbolTable.lastDeclarationBefore(name, position);
+        if (declaringPosition == -1) {
+            return null;
+        }
+        return JavaParserFactory.getSymbolDeclarator(block.getStatements().get(declaringPosition), typeSolver);
+    }
 }
@@ -138,7 +138,7 @@ public class JavaParserAnonymousClassDeclaration extends AbstractClassDeclaratio
     return
         findMembersOfKind(com.github.javaparser.ast.body.MethodDeclaration.class)
             .stream()
-            .map(method -> new JavaParserMethodDeclaration(method, typeSolver))
+            .map(method -> JavaParserFactory.toMethodDeclaration(method, typeSolver))
             .collect(Collectors.toSet());
   }
 
@@ -80,6 +80,10 @@ public class JavaParserClassDeclaration extends AbstractClassDeclaration {
 
         JavaParserClassDeclaration that = (JavaParserClassDeclaration) o;
 
+        // Declarations are usually created once per node, so they are compared by identity first. Nodes are compared
+        // structurally only when they have the same name, which is also what the hash code is based on
+        if (wrappedNode == that.wrappedNode) return true;
+        if (!wrappedNode.getName().getIdentifier().equals(that.wrappedNode.getName().getIdentifier())) return false;
         if (!wrappedNode.equals(that.wrappedNode)) return false;
 
         return true;
@@ -87,7 +91,7 @@ public class JavaParserClassDeclaration extends AbstractClassDeclaration {
 
     @Override
     public int hashCode() {
-        return wrappedNode.hashCode();
+        return wrappedNode.getName().getIdentifier().hashCode();
     }
 
     @Override
@@ -297,7 +301,7 @@ public class JavaParserClassDeclaration extends AbstractClassDeclaration {
         Set<MethodDeclaration> methods = new HashSet<>();
         for (BodyDeclaration<?> member : wrappedNode.getMembers()) {
             if (member instanceof com.github.javaparser.ast.body.MethodDeclaration) {
-                methods.add(new JavaParserMethodDeclaration((com.github.javaparser.ast.body.MethodDeclaration) member, typeSolver));
+                methods.add(JavaParserFactory.toMethodDeclaration((com.github.javaparser.ast.body.MethodDeclaration) member, typeSolver));
             }
         }
         return methods;
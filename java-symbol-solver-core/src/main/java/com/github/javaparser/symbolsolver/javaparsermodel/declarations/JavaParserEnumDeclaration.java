@@ -68,7 +68,7 @@ public class JavaParserEnumDeclaration extends AbstractTypeDeclaration implement
         Set<MethodDeclaration> methods = new HashSet<>();
         for (BodyDeclaration member : wrappedNode.getMembers()) {
             if (member instanceof com.github.javaparser.ast.body.MethodDeclaration) {
-                methods.add(new JavaParserMethodDeclaration((com.github.javaparser.ast.body.MethodDeclaration) member, typeSolver));
+                methods.add(JavaParserFactory.toMethodDeclaration((com.github.javaparser.ast.body.MethodDeclaration) member, typeSolver));
             }
         }
         return methods;
@@ -172,6 +172,8 @@ public class JavaParserEnumDeclaration extends AbstractTypeDeclaration implement
 
         JavaParserEnumDeclaration that = (JavaParserEnumDeclaration) o;
 
+        if (wrappedNode == that.wrappedNode) return true;
+        if (!wrappedNode.getName().getIdentifier().equals(that.wrappedNode.getName().getIdentifier())) return false;
         if (!wrappedNode.equals(that.wrappedNode)) return false;
 
         return true;
@@ -179,7 +181,7 @@ public class JavaParserEnumDeclaration extends AbstractTypeDeclaration implement
 
     @Override
     public int hashCode() {
-        return wrappedNode.hashCode();
+        return wrappedNode.getName().getIdentifier().hashCode();
     }
 
     @Deprecated
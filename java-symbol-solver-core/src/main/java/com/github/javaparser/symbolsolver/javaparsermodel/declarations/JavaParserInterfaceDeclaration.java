@@ -62,7 +62,7 @@ public class JavaParserInterfaceDeclaration extends AbstractTypeDeclaration impl
         Set<MethodDeclaration> methods = new HashSet<>();
         for (BodyDeclaration member : wrappedNode.getMembers()) {
             if (member instanceof com.github.javaparser.ast.body.MethodDeclaration) {
-                methods.add(new JavaParserMethodDeclaration((com.github.javaparser.ast.body.MethodDeclaration) member, typeSolver));
+                methods.add(JavaParserFactory.toMethodDeclaration((com.github.javaparser.ast.body.MethodDeclaration) member, typeSolver));
             }
         }
         return methods;
@@ -83,6 +83,8 @@ public class JavaParserInterfaceDeclaration extends AbstractTypeDeclaration impl
 
         JavaParserInterfaceDeclaration that = (JavaParserInterfaceDeclaration) o;
 
+        if (wrappedNode == that.wrappedNode) return true;
+        if (!wrappedNode.getName().getIdentifier().equals(that.wrappedNode.getName().getIdentifier())) return false;
         if (!wrappedNode.equals(that.wrappedNode)) return false;
 
         return true;
@@ -90,7 +92,7 @@ public class JavaParserInterfaceDeclaration extends AbstractTypeDeclaration impl
 
     @Override
     public int hashCode() {
-        return wrappedNode.hashCode();
+        return wrappedNode.getName().getIdentifier().hashCode();
     }
 
     @Override
@@ -17,6 +17,7 @@ import com.github.javaparser.symbolsolver.model.typesystem.ReferenceTypeImpl;
 import com.github.javaparser.symbolsolver.model.typesystem.Type;
 import com.github.javaparser.symbolsolver.resolution.SymbolSolver;
 
+import java.util.ArrayList;
 import java.util.List;
 import java.util.Optional;
 
@@ -53,7 +54,7 @@ public class JavaParserTypeAdapter<T extends Node & NodeWithSimpleName<T> & Node
     }
 
     public boolean isAssignableBy(ReferenceTypeDeclaration other) {
-        List<ReferenceType> ancestorsOfOther = other.getAllAncestors();
+        List<ReferenceType> ancestorsOfOther = new ArrayList<>(other.getAllAncestors());
         ancestorsOfOther.add(new ReferenceTypeImpl(other, typeSolver));
         for (ReferenceType ancestorOfOther : ancestorsOfOther) {
             if (ancestorOfOther.getQualifiedName().equals(this.getQualifiedName())) {
@@ -90,10 +91,8 @@ public class JavaParserTypeAdapter<T extends Node & NodeWithSimpleName<T> & Node
                 com.github.javaparser.ast.body.TypeDeclaration<?> internalType = (com.github.javaparser.ast.body.TypeDeclaration<?>) member;
                 String prefix = internalType.getName() + ".";
                 if (internalType.getName().getId().equals(name)) {
-                    if (internalType instanceof ClassOrInterfaceDeclaration) {
-                        return SymbolReference.solved(new JavaParserClassDeclaration((com.github.javaparser.ast.body.ClassOrInterfaceDeclaration) internalType, typeSolver));
-                    } else if (internalType instanceof EnumDeclaration) {
-                        return SymbolReference.solved(new JavaParserEnumDeclaration((com.github.javaparser.ast.body.EnumDeclaration) internalType, typeSolver));
+                    if (internalType instanceof ClassOrInterfaceDeclaration || internalType instanceof EnumDeclaration) {
+                        return SymbolReference.solved(JavaParserFactory.toTypeDeclaration(internalType, typeSolver));
                     } else {
                         throw new UnsupportedOperationException();
                     }
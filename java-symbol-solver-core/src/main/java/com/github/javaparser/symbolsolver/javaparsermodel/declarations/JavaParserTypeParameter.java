@@ -21,6 +21,7 @@ import com.github.javaparser.ast.body.ClassOrInterfaceDeclaration;
 import com.github.javaparser.ast.type.ClassOrInterfaceType;
 import com.github.javaparser.symbolsolver.core.resolution.Context;
 import com.github.javaparser.symbolsolver.javaparsermodel.JavaParserFacade;
+import com.github.javaparser.symbolsolver.javaparsermodel.JavaParserFactory;
 import com.github.javaparser.symbolsolver.logic.AbstractTypeDeclaration;
 import com.github.javaparser.symbolsolver.model.declarations.*;
 import com.github.javaparser.symbolsolver.model.resolution.SymbolReference;
@@ -67,14 +68,17 @@ public class JavaParserTypeParameter extends AbstractTypeDeclaration implements
 
         JavaParserTypeParameter that = (JavaParserTypeParameter) o;
 
-        if (wrappedNode != null ? !wrappedNode.equals(that.wrappedNode) : that.wrappedNode != null) return false;
+        if (wrappedNode == that.wrappedNode) return true;
+        if (wrappedNode == null || that.wrappedNode == null) return false;
+        if (!wrappedNode.getName().getIdentifier().equals(that.wrappedNode.getName().getIdentifier())) return false;
+        if (!wrappedNode.equals(that.wrappedNode)) return false;
 
         return true;
     }
 
     @Override
     public int hashCode() {
-        int result = wrappedNode != null ? wrappedNode.hashCode() : 0;
+        int result = wrappedNode != null ? wrappedNode.getName().getIdentifier().hashCode() : 0;
         result = 31 * result + (typeSolver != null ? typeSolver.hashCode() : 0);
         return result;
     }
@@ -130,7 +134,7 @@ public class JavaParserTypeParameter extends AbstractTypeDeclaration implements
             }
         } else {
             com.github.javaparser.ast.body.MethodDeclaration jpMethodDeclaration = (com.github.javaparser.ast.body.MethodDeclaration) parentNode;
-            return new JavaParserMethodDeclaration(jpMethodDeclaration, typeSolver);
+            return JavaParserFactory.toMethodDeclaration(jpMethodDeclaration, typeSolver);
         }
         throw new UnsupportedOperationException();
     }
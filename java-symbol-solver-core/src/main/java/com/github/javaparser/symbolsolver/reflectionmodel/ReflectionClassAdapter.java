@@ -12,9 +12,11 @@ import com.github.javaparser.symbolsolver.model.typesystem.Type;
 
 import java.lang.annotation.Annotation;
 import java.lang.reflect.Field;
+import java.lang.reflect.Method;
 import java.lang.reflect.ParameterizedType;
 import java.lang.reflect.TypeVariable;
 import java.util.*;
+import java.util.concurrent.ConcurrentHashMap;
 import java.util.stream.Collectors;
 
 /**
@@ -25,6 +27,9 @@ class ReflectionClassAdapter {
     private Class<?> clazz;
     private TypeSolver typeSolver;
     private ReferenceTypeDeclaration typeDeclaration;
+    private final Map<String, List<MethodDeclaration>> publicMethodsByName = new ConcurrentHashMap<>();
+    private final Map<String, List<MethodDeclaration>> declaredMethodsByName = new ConcurrentHashMap<>();
+    private volatile List<ReferenceTypeDeclaration> ancestorsToVisit;
 
     public ReflectionClassAdapter(Class<?> clazz, TypeSolver typeSolver, ReferenceTypeDeclaration typeDeclaration) {
         this.clazz = clazz;
@@ -130,6 +135,56 @@ class ReflectionClassAdapter {
                 .collect(Collectors.toSet());
     }
 
+    /**
+     * The public methods with the given name, declared or inherited, excluding bridge and synthetic methods.
+     */
+    public List<MethodDeclaration> getPublicMethodsByName(String name) {
+        return publicMethodsByName.computeIfAbsent(name, n -> wrap(ReflectionMethodTable.of(clazz).getPublicMethods(n)));
+    }
+
+    /**
+     * The methods with the given name declared by the class, excluding bridge and synthetic methods.
+     */
+    public List<MethodDeclaration> getDeclaredMethodsByName(String name) {
+        return declaredMethodsByName.computeIfAbsent(name, n -> wrap(ReflectionMethodTable.of(clazz).getDeclaredMethods(n)));
+    }
+
+    /**
+     * The ancestors to visit when solving a method. The public methods of the ancestors are already among the public
+     * methods of the class, so only the classes among the ancestors have to be visited, to find their non public
+     * methods. Interfaces do not extend Object, so when there are no such classes the methods of Object are
+     * considered. They are calculated once, like the methods by name.
+     */
+    public List<ReferenceTypeDeclaration> getAncestorsToVisit() {
+        List<ReferenceTypeDeclaration> ancestors = ancestorsToVisit;
+        if (ancestors == null) {
+            ancestors = new ArrayList<>();
+            for (ReferenceType ancestor : typeDeclaration.getAncestors()) {
+                ReferenceTypeDeclaration ancestorDeclaration = ancestor.getTypeDeclaration();
+                if (ancestorDeclaration.isClass()) {
+                    ancestors.add(ancestorDeclaration);
+                }
+            }
+            if (ancestors.isEmpty()) {
+                ancestors.add(typeSolver.solveType(Object.class.getCanonicalName()));
+            }
+            ancestors = Collections.unmodifiableList(ancestors);
+            ancestorsToVisit = ancestors;
+        }
+        return ancestors;
+    }
+
+    private List<MethodDeclaration> wrap(List<Method> methods) {
+        if (methods.isEmpty()) {
+            return Collections.emptyList();
+        }
+        List<MethodDeclaration> declarations = new ArrayList<>(methods.size());
+        for (Method method : methods) {
+            declarations.add(new ReflectionMethodDeclaration(method, typeSolver));
+        }
+        return Collections.unmodifiableList(declarations);
+    }
+
     public List<TypeParameterDeclaration> getTypeParameters() {
         List<TypeParameterDeclaration> params = new ArrayList<>();
         for (TypeVariable<?> tv : this.clazz.getTypeParameters()) {
@@ -154,12 +154,12 @@ public class ReflectionEnumDeclaration extends AbstractTypeDeclaration implement
 
   public SymbolReference<MethodDeclaration> solveMethod(String name, List<Type> parameterTypes, boolean staticOnly) {
     return ReflectionMethodResolutionLogic.solveMethod(name, parameterTypes, staticOnly,
-            typeSolver,this, clazz);
+            typeSolver,this, reflectionClassAdapter);
   }
 
   public Optional<MethodUsage> solveMethodAsUsage(String name, List<Type> parameterTypes, TypeSolver typeSolver, Context invokationContext, List<Type> typeParameterValues) {
     Optional<MethodUsage> res = ReflectionMethodResolutionLogic.solveMethodAsUsage(name, parameterTypes, typeSolver, invokationContext,
-            typeParameterValues, this, clazz);
+            typeParameterValues, this, reflectionClassAdapter);
     if (res.isPresent()) {
         // We have to replace method type typeParametersValues here
         InferenceContext inferenceContext = new InferenceContext(MyObjectProvider.INSTANCE);
@@ -96,7 +96,7 @@ public class ReflectionInterfaceDeclaration extends AbstractTypeDeclaration impl
     @Deprecated
     public SymbolReference<MethodDeclaration> solveMethod(String name, List<Type> parameterTypes, boolean staticOnly) {
         return ReflectionMethodResolutionLogic.solveMethod(name, parameterTypes, staticOnly,
-                typeSolver,this, clazz);
+                typeSolver,this, reflectionClassAdapter);
     }
 
     @Override
@@ -133,7 +133,7 @@ public class ReflectionInterfaceDeclaration extends AbstractTypeDeclaration impl
 
     public Optional<MethodUsage> solveMethodAsUsage(String name, List<Type> parameterTypes, TypeSolver typeSolver, Context invokationContext, List<Type> typeParameterValues) {
         Optional<MethodUsage> res = ReflectionMethodResolutionLogic.solveMethodAsUsage(name, parameterTypes, typeSolver, invokationContext,
-                typeParameterValues, this, clazz);
+                typeParameterValues, this, reflectionClassAdapter);
         if (res.isPresent()) {
             // We have to replace method type typeParametersValues here
             InferenceContext inferenceContext = new InferenceContext(MyObjectProvider.INSTANCE);
@@ -29,12 +29,9 @@ import com.github.javaparser.symbolsolver.model.typesystem.Type;
 import com.github.javaparser.symbolsolver.model.typesystem.TypeVariable;
 import com.github.javaparser.symbolsolver.resolution.MethodResolutionLogic;
 
-import java.lang.reflect.Method;
-import java.lang.reflect.Modifier;
 import java.util.ArrayList;
 import java.util.List;
 import java.util.Optional;
-import java.util.function.Predicate;
 import java.util.stream.Collectors;
 
 /**
@@ -44,25 +41,16 @@ class ReflectionMethodResolutionLogic {
 
     static SymbolReference<MethodDeclaration> solveMethod(String name, List<Type> parameterTypes, boolean staticOnly,
                                                           TypeSolver typeSolver, ReferenceTypeDeclaration scopeType,
-                                                          Class clazz){
+                                                          ReflectionClassAdapter reflectionClassAdapter){
         List<MethodDeclaration> methods = new ArrayList<>();
-        Predicate<Method> staticOnlyCheck = m -> !staticOnly || (staticOnly && Modifier.isStatic(m.getModifiers()));
-        for (Method method : clazz.getMethods()) {
-            if (method.isBridge() || method.isSynthetic() || !method.getName().equals(name)|| !staticOnlyCheck.test(method)) continue;
-            MethodDeclaration methodDeclaration = new ReflectionMethodDeclaration(method, typeSolver);
-            methods.add(methodDeclaration);
-        }
-
-        for (ReferenceType ancestor : scopeType.getAncestors()) {
-            SymbolReference<MethodDeclaration> ref = MethodResolutionLogic.solveMethodInType(ancestor.getTypeDeclaration(), name, parameterTypes, staticOnly, typeSolver);
-            if (ref.isSolved()) {
-                methods.add(ref.getCorrespondingDeclaration());
+        for (MethodDeclaration methodDeclaration : reflectionClassAdapter.getPublicMethodsByName(name)) {
+            if (!staticOnly || methodDeclaration.isStatic()) {
+                methods.add(methodDeclaration);
             }
         }
 
-        if (scopeType.getAncestors().isEmpty()){
-            ReferenceTypeImpl objectClass = new ReferenceTypeImpl(new ReflectionClassDeclaration(Object.class, typeSolver), typeSolver);
-            SymbolReference<MethodDeclaration> ref = MethodResolutionLogic.solveMethodInType(objectClass.getTypeDeclaration(), name, parameterTypes, staticOnly, typeSolver);
+        for (ReferenceTypeDeclaration ancestor : reflectionClassAdapter.getAncestorsToVisit()) {
+            SymbolReference<MethodDeclaration> ref = MethodResolutionLogic.solveMethodInType(ancestor, name, parameterTypes, staticOnly, typeSolver);
             if (ref.isSolved()) {
                 methods.add(ref.getCorrespondingDeclaration());
             }
@@ -72,7 +60,8 @@ class ReflectionMethodResolutionLogic {
 
     static Optional<MethodUsage> solveMethodAsUsage(String name, List<Type> argumentsTypes, TypeSolver typeSolver,
                                                     Context invokationContext, List<Type> typeParameterValues,
-                                                    ReferenceTypeDeclaration scopeType, Class clazz) {
+                                                    ReferenceTypeDeclaration scopeType,
+                                                    ReflectionClassAdapter reflectionClassAdapter) {
         if (typeParameterValues.size() != scopeType.getTypeParameters().size()) {
             // if it is zero we are going to ignore them
             if (!scopeType.getTypeParameters().isEmpty()) {
@@ -84,33 +73,19 @@ class ReflectionMethodResolutionLogic {
             }
         }
         List<MethodUsage> methods = new ArrayList<>();
-        for (Method method : clazz.getMethods()) {
-            if (method.getName().equals(name) && !method.isBridge() && !method.isSynthetic()) {
-                MethodDeclaration methodDeclaration = new ReflectionMethodDeclaration(method, typeSolver);
-                MethodUsage methodUsage = replaceParams(typeParameterValues, scopeType, methodDeclaration);
-                methods.add(methodUsage);
-            }
-
+        for (MethodDeclaration methodDeclaration : reflectionClassAdapter.getPublicMethodsByName(name)) {
+            MethodUsage methodUsage = replaceParams(typeParameterValues, scopeType, methodDeclaration);
+            methods.add(methodUsage);
         }
 
-        for(ReferenceType ancestor : scopeType.getAncestors()){
-            SymbolReference<MethodDeclaration> ref = MethodResolutionLogic.solveMethodInType(ancestor.getTypeDeclaration(), name, argumentsTypes, typeSolver);
+        for (ReferenceTypeDeclaration ancestor : reflectionClassAdapter.getAncestorsToVisit()) {
+            SymbolReference<MethodDeclaration> ref = MethodResolutionLogic.solveMethodInType(ancestor, name, argumentsTypes, typeSolver);
             if (ref.isSolved()){
-                MethodDeclaration correspondingDeclaration = ref.getCorrespondingDeclaration();
-                MethodUsage methodUsage = replaceParams(typeParameterValues, ancestor.getTypeDeclaration(), correspondingDeclaration);
+                MethodUsage methodUsage = replaceParams(typeParameterValues, ancestor, ref.getCorrespondingDeclaration());
                 methods.add(methodUsage);
             }
         }
 
-        if (scopeType.getAncestors().isEmpty()){
-            ReferenceTypeImpl objectClass = new ReferenceTypeImpl(new ReflectionClassDeclaration(Object.class, typeSolver), typeSolver);
-            SymbolReference<MethodDeclaration> ref = MethodResolutionLogic.solveMethodInType(objectClass.getTypeDeclaration(), name, argumentsTypes, typeSolver);
-            if (ref.isSolved()) {
-                MethodUsage usage = replaceParams(typeParameterValues, objectClass.getTypeDeclaration(), ref.getCorrespondingDeclaration());
-                methods.add(usage);
-            }
-        }
-
         final List<Type> finalTypeParameterValues = typeParameterValues;
         argumentsTypes = argumentsTypes.stream().map((pt) -> {
             int i = 0;
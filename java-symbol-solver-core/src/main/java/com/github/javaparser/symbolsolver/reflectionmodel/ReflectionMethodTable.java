@@ -0,0 +1,83 @@
+/*
+ * Copyright 2016 Federico Tomassetti
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.github.javaparser.symbolsolver.reflectionmodel;
+
+import com.github.javaparser.symbolsolver.reflectionmodel.comparators.MethodComparator;
+
+import java.lang.reflect.Method;
+import java.util.*;
+
+/**
+ * The methods of a class grouped by name: both the public ones, including the inherited ones, as returned by
+ * Class.getMethods, and the ones declared by the class, as returned by Class.getDeclaredMethods.
+ * Bridge and synthetic methods are excluded and the methods with the same name are sorted using MethodComparator.
+ * <p>
+ * Asking the JVM for the methods of a class copies them each time, so a table is calculated once per class and
+ * shared by all the declarations of that class.
+ *
+ * @author Federico Tomassetti
+ */
+final class ReflectionMethodTable {
+
+    private static final ClassValue<ReflectionMethodTable> tables = new ClassValue<ReflectionMethodTable>() {
+        @Override
+        protected ReflectionMethodTable computeValue(Class<?> clazz) {
+            return new ReflectionMethodTable(clazz);
+        }
+    };
+
+    private final Map<String, List<Method>> publicMethods;
+    private final Map<String, List<Method>> declaredMethods;
+
+    private ReflectionMethodTable(Class<?> clazz) {
+        this.publicMethods = groupByName(clazz.getMethods());
+        this.declaredMethods = groupByName(clazz.getDeclaredMethods());
+    }
+
+    static ReflectionMethodTable of(Class<?> clazz) {
+        return tables.get(clazz);
+    }
+
+    /**
+     * The public methods with the given name, either declared or inherited.
+     */
+    List<Method> getPublicMethods(String name) {
+        return publicMethods.getOrDefault(name, Collections.emptyList());
+    }
+
+    /**
+     * The methods with the given name declared by the class, whatever their visibility.
+     */
+    List<Method> getDeclaredMethods(String name) {
+        return declaredMethods.getOrDefault(name, Collections.emptyList());
+    }
+
+    private static Map<String, List<Method>> groupByName(Method[] methods) {
+        Map<String, List<Method>> methodsByName = new HashMap<>();
+        for (Method method : methods) {
+            if (!method.isBridge() && !method.isSynthetic()) {
+                methodsByName.computeIfAbsent(method.getName(), n -> new ArrayList<>()).add(method);
+            }
+        }
+        MethodComparator comparator = new MethodComparator();
+        for (Map.Entry<String, List<Method>> entry : methodsByName.entrySet()) {
+            entry.getValue().sort(comparator);
+            entry.setValue(Collections.unmodifiableList(entry.getValue()));
+        }
+        return methodsByName;
+    }
+}
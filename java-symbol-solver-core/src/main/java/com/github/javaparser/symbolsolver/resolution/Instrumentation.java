@@ -0,0 +1,42 @@
+/*
+ * Copyright 2016 Federico Tomassetti
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.github.javaparser.symbolsolver.resolution;
+
+/**
+ * It holds the ResolutionListener which is notified by all the components of the symbol solver.
+ *
+ * @author Federico Tomassetti
+ */
+public final class Instrumentation {
+
+    private static volatile ResolutionListener listener = ResolutionListener.NONE;
+
+    private Instrumentation() {
+        // prevent instantiation
+    }
+
+    public static ResolutionListener getListener() {
+        return listener;
+    }
+
+    /**
+     * Install the given listener, replacing the current one. Passing null restores the default listener, which
+     * does nothing.
+     */
+    public static void setListener(ResolutionListener listener) {
+        Instrumentation.listener = listener == null ? ResolutionListener.NONE : listener;
+    }
+}
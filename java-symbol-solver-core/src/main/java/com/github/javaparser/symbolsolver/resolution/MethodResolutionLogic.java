@@ -24,6 +24,7 @@ import com.github.javaparser.symbolsolver.javaparsermodel.declarations.JavaParse
 import com.github.javaparser.symbolsolver.javassistmodel.JavassistClassDeclaration;
 import com.github.javaparser.symbolsolver.javassistmodel.JavassistEnumDeclaration;
 import com.github.javaparser.symbolsolver.javassistmodel.JavassistInterfaceDeclaration;
+import com.github.javaparser.symbolsolver.logic.AbstractTypeDeclaration;
 import com.github.javaparser.symbolsolver.model.declarations.*;
 import com.github.javaparser.symbolsolver.model.methods.MethodUsage;
 import com.github.javaparser.symbolsolver.model.resolution.SymbolReference;
@@ -380,6 +381,7 @@ public class MethodResolutionLogic {
 
     public static SymbolReference<MethodDeclaration> findMostApplicable(List<MethodDeclaration> methods, String name, List<Type> argumentsTypes, TypeSolver typeSolver, boolean wildcardTolerance) {
         List<MethodDeclaration> applicableMethods = getMethodsWithoutDuplicates(methods).stream().filter((m) -> isApplicable(m, name, argumentsTypes, typeSolver, wildcardTolerance)).collect(Collectors.toList());
+        Instrumentation.getListener().methodCandidates(name, methods.size(), applicableMethods.size());
         if (applicableMethods.isEmpty()) {
             return SymbolReference.unsolved(MethodDeclaration.class);
         }
@@ -523,6 +525,7 @@ public class MethodResolutionLogic {
 
     public static Optional<MethodUsage> findMostApplicableUsage(List<MethodUsage> methods, String name, List<Type> argumentsTypes, TypeSolver typeSolver) {
         List<MethodUsage> applicableMethods = methods.stream().filter((m) -> isApplicable(m, name, argumentsTypes, typeSolver)).collect(Collectors.toList());
+        Instrumentation.getListener().methodCandidates(name, methods.size(), applicableMethods.size());
 
         if (applicableMethods.isEmpty()) {
             return Optional.empty();
@@ -583,6 +586,84 @@ public class MethodResolutionLogic {
     public static SymbolReference<MethodDeclaration> solveMethodInType(TypeDeclaration typeDeclaration,
                                                                        String name, List<Type> argumentsTypes, boolean staticOnly,
                                                                        TypeSolver typeSolver) {
+        // The results are kept in the declaration, so they live as long as it does. They are kept by type solver,
+        // as the types in the signatures of the candidate methods are solved through the given one
+        String invocationSignature = invocationSignature(name, argumentsTypes, staticOnly);
+        if (invocationSignature == null || !(typeDeclaration instanceof AbstractTypeDeclaration)) {
+            return solveMethodInTypeUncached(typeDeclaration, name, argumentsTypes, staticOnly, typeSolver);
+        }
+        boolean[] solvedNow = new boolean[1];
+        SymbolReference<MethodDeclaration> result = ((AbstractTypeDeclaration) typeDeclaration).solveMethodCached(
+                invocationSignature, typeSolver, () -> {
+                    solvedNow[0] = true;
+                    return solveMethodInTypeUncached(typeDeclaration, name, argumentsTypes, staticOnly, typeSolver);
+                });
+        Instrumentation.getListener().cacheLookup(ResolutionListener.Cache.METHODS_IN_TYPE, !solvedNow[0]);
+        return result;
+    }
+
+    /**
+     * A canonical description of an invocation, which identifies the method it resolves to in a given type.
+     * It is null when some argument type is not fully determined by its description (like type variables or
+     * lambda constraints): those invocations are not cached.
+     */
+    private static String invocationSignature(String name, List<Type> argumentsTypes, boolean staticOnly) {
+        StringBuilder sb = new StringBuilder(name);
+        sb.append(staticOnly ? "!(" : "(");
+        for (int i = 0; i < argumentsTypes.size(); i++) {
+            if (i != 0) {
+                sb.append(", ");
+            }
+            if (!appendCanonicalDescription(argumentsTypes.get(i), sb)) {
+                return null;
+            }
+        }
+        return sb.append(")").toString();
+    }
+
+    private static boolean appendCanonicalDescription(Type type, StringBuilder sb) {
+        if (type.isPrimitive() || type.isNull() || type.isVoid()) {
+            sb.append(type.describe());
+            return true;
+        } else if (type.isArray()) {
+            if (!appendCanonicalDescription(type.asArrayType().getComponentType(), sb)) {
+                return false;
+            }
+            sb.append("[]");
+            return true;
+        } else if (type.isReferenceType()) {
+            ReferenceType referenceType = type.asReferenceType();
+            sb.append(referenceType.getQualifiedName());
+            List<Type> typeParameters = referenceType.typeParametersValues();
+            if (!typeParameters.isEmpty()) {
+                sb.append("<");
+                for (int i = 0; i < typeParameters.size(); i++) {
+                    if (i != 0) {
+                        sb.append(", ");
+                    }
+                    if (!appendCanonicalDescription(typeParameters.get(i), sb)) {
+                        return false;
+                    }
+                }
+                sb.append(">");
+            }
+            return true;
+        } else if (type.isWildcard()) {
+            Wildcard wildcard = type.asWildcard();
+            if (!wildcard.isBounded()) {
+                sb.append("?");
+                return true;
+            }
+            sb.append(wildcard.isSuper() ? "? super " : "? extends ");
+            return appendCanonicalDescription(wildcard.getBoundedType(), sb);
+        } else {
+            return false;
+        }
+    }
+
+    private static SymbolReference<MethodDeclaration> solveMethodInTypeUncached(TypeDeclaration typeDeclaration,
+                                                                                String name, List<Type> argumentsTypes, boolean staticOnly,
+                                                                                TypeSolver typeSolver) {
         if (typeDeclaration instanceof JavaParserClassDeclaration) {
             Context ctx = ((JavaParserClassDeclaration) typeDeclaration).getContext();
             return ctx.solveMethod(name, argumentsTypes, staticOnly, typeSolver);
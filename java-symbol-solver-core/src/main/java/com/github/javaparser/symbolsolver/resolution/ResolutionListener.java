@@ -0,0 +1,119 @@
+/*
+ * Copyright 2016 Federico Tomassetti
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.github.javaparser.symbolsolver.resolution;
+
+import com.github.javaparser.ast.Node;
+import com.github.javaparser.ast.expr.MethodCallExpr;
+import com.github.javaparser.symbolsolver.core.resolution.Context;
+import com.github.javaparser.symbolsolver.model.resolution.TypeSolver;
+
+import java.io.File;
+
+/**
+ * It is notified of what happens during the resolution, so that timings and counts can be collected. All the
+ * methods do nothing by default, so an implementation can override only the ones it is interested in.
+ * <p>
+ * A listener is installed through {@link Instrumentation#setListener(ResolutionListener)} and it is called by all
+ * the threads performing resolutions, so it has to be thread-safe. It is called synchronously: it should be fast
+ * and it should not throw exceptions. The durations are expressed in nanoseconds and they include the time spent
+ * in nested operations.
+ *
+ * @author Federico Tomassetti
+ */
+public interface ResolutionListener {
+
+    /**
+     * The listener which is installed by default. When it is installed no time is measured: the components compare
+     * the listener returned by {@link Instrumentation#getListener()} with this one.
+     */
+    ResolutionListener NONE = new ResolutionListener() {
+    };
+
+    /**
+     * The caches whose lookups are reported.
+     */
+    enum Cache {
+        /**
+         * The types calculated for the nodes by JavaParserFacade.
+         */
+        NODE_TYPES,
+        /**
+         * The methods solved in a type declaration for a given invocation by MethodResolutionLogic.
+         */
+        METHODS_IN_TYPE,
+        /**
+         * The declarations created by the type solvers which read them from sources, jars or classes.
+         */
+        TYPE_DECLARATIONS,
+        /**
+         * The element of a CombinedTypeSolver which solved each name, and the names none of them could solve. A hit
+         * on a solved name is followed by a lookup in the cache of that element.
+         */
+        COMBINED_ROUTING,
+        /**
+         * The compilation units parsed by JavaParserTypeSolver.
+         */
+        PARSED_FILES,
+        /**
+         * The contexts created for the nodes by JavaParserFactory.
+         */
+        CONTEXTS,
+        /**
+         * The symbols solved for the nodes by the solve methods of JavaParserFacade.
+         */
+        SYMBOLS
+    }
+
+    /**
+     * One of the elements of a CombinedTypeSolver has been asked to solve a type.
+     */
+    default void typeLookup(TypeSolver typeSolver, String name, boolean solved, long nanos) {
+    }
+
+    /**
+     * A context has asked for its parent, to go one step up in the chain of contexts. The number of steps taken
+     * while a node is solved is the depth of the chain walked.
+     */
+    default void parentContextRequested(Context context) {
+    }
+
+    /**
+     * MethodResolutionLogic has chosen the most applicable method among the given number of candidates.
+     */
+    default void methodCandidates(String name, int candidates, int applicable) {
+    }
+
+    default void cacheLookup(Cache cache, boolean hit) {
+    }
+
+    /**
+     * JavaParserTypeSolver has parsed a file.
+     */
+    default void fileParsed(File file, long nanos) {
+    }
+
+    /**
+     * JavaParserFacade has calculated the type of a node, which was not in its cache.
+     */
+    default void nodeTyped(Node node, long nanos) {
+    }
+
+    /**
+     * JavaParserFacade has solved a method call.
+     */
+    default void methodCallSolved(MethodCallExpr methodCallExpr, long nanos) {
+    }
+}
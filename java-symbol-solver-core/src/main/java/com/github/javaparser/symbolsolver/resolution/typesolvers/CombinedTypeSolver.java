@@ -20,19 +20,53 @@ import com.github.javaparser.symbolsolver.javaparsermodel.UnsolvedSymbolExceptio
 import com.github.javaparser.symbolsolver.model.declarations.ReferenceTypeDeclaration;
 import com.github.javaparser.symbolsolver.model.resolution.SymbolReference;
 import com.github.javaparser.symbolsolver.model.resolution.TypeSolver;
+import com.github.javaparser.symbolsolver.resolution.Instrumentation;
+import com.github.javaparser.symbolsolver.resolution.ResolutionListener;
+import com.google.common.cache.Cache;
+import com.google.common.cache.CacheBuilder;
 
 import java.util.ArrayList;
+import java.util.Collection;
 import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
 
 /**
+ * A TypeSolver asking its elements in order, until one of them solves the name.
+ * <p>
+ * It remembers which element solved each name and which names no element could solve. The elements are not
+ * observed: when one of them can solve more names, like a MemoryTypeSolver given a new declaration, the names it
+ * could not solve before stay unsolved until {@link #invalidateCache()} is called. Adding an element through
+ * {@link #add(TypeSolver)} invalidates them already.
+ *
  * @author Federico Tomassetti
  */
 public class CombinedTypeSolver implements TypeSolver {
 
+    /**
+     * Maximum number of unsolvable names remembered by default.
+     */
+    public static final long DEFAULT_UNSOLVED_CACHE_SIZE = 100_000;
+
     private TypeSolver parent;
     private List<TypeSolver> elements = new ArrayList<>();
+    // The element which solved a given name: it is asked first the next time
+    private Map<String, TypeSolver> solverByName = new ConcurrentHashMap<>();
+    // Names that no element was able to solve. They are not solved again when an element changes, unless the
+    // cache is invalidated
+    private Cache<String, Boolean> unsolvedNames;
 
     public CombinedTypeSolver(TypeSolver... elements) {
+        this(DEFAULT_UNSOLVED_CACHE_SIZE, elements);
+    }
+
+    /**
+     * @param unsolvedCacheSize how many unsolvable names should be remembered. Zero disables the cache of the
+     *                          unsolved names, which is needed when the elements gain declarations and
+     *                          {@link #invalidateCache()} cannot be called.
+     */
+    public CombinedTypeSolver(long unsolvedCacheSize, TypeSolver... elements) {
+        this.unsolvedNames = CacheBuilder.newBuilder().maximumSize(unsolvedCacheSize).build();
         for (TypeSolver el : elements) {
             add(el);
         }
@@ -51,19 +85,70 @@ public class CombinedTypeSolver implements TypeSolver {
     public void add(TypeSolver typeSolver) {
         this.elements.add(typeSolver);
         typeSolver.setParent(this);
+        // The new element could solve names which were unsolved until now. Names already solved are instead still
+        // solved by the same element, because elements are considered in order
+        this.unsolvedNames.invalidateAll();
+    }
+
+    /**
+     * Forget which element solved each name and which names could not be solved. It should be called when the
+     * elements could now solve types differently, for example because source files have been added or a
+     * MemoryTypeSolver has been given new declarations: otherwise the names they could not solve before are still
+     * reported as unsolved.
+     */
+    public void invalidateCache() {
+        this.solverByName.clear();
+        this.unsolvedNames.invalidateAll();
+    }
+
+    /**
+     * Forget which element solved the given names and whether they could not be solved. It should be called when
+     * only those names could now be solved differently, for example because the source files declaring them have
+     * changed.
+     */
+    public void invalidateCache(Collection<String> names) {
+        this.solverByName.keySet().removeAll(names);
+        this.unsolvedNames.invalidateAll(names);
     }
 
     @Override
     public SymbolReference<ReferenceTypeDeclaration> tryToSolveType(String name) {
+        ResolutionListener listener = Instrumentation.getListener();
+        TypeSolver knownSolver = solverByName.get(name);
+        if (knownSolver != null) {
+            SymbolReference<ReferenceTypeDeclaration> res = tryToSolveTypeIn(knownSolver, name, listener);
+            if (res.isSolved()) {
+                listener.cacheLookup(ResolutionListener.Cache.COMBINED_ROUTING, true);
+                return res;
+            }
+            solverByName.remove(name);
+        } else if (unsolvedNames.getIfPresent(name) != null) {
+            listener.cacheLookup(ResolutionListener.Cache.COMBINED_ROUTING, true);
+            return SymbolReference.unsolved(ReferenceTypeDeclaration.class);
+        }
+        listener.cacheLookup(ResolutionListener.Cache.COMBINED_ROUTING, false);
         for (TypeSolver ts : elements) {
-            SymbolReference<ReferenceTypeDeclaration> res = ts.tryToSolveType(name);
+            SymbolReference<ReferenceTypeDeclaration> res = tryToSolveTypeIn(ts, name, listener);
             if (res.isSolved()) {
+                solverByName.put(name, ts);
                 return res;
             }
         }
+        unsolvedNames.put(name, Boolean.TRUE);
         return SymbolReference.unsolved(ReferenceTypeDeclaration.class);
     }
 
+    private SymbolReference<ReferenceTypeDeclaration> tryToSolveTypeIn(TypeSolver element, String name,
+                                                                       ResolutionListener listener) {
+        if (listener == ResolutionListener.NONE) {
+            return element.tryToSolveType(name);
+        }
+        long start = System.nanoTime();
+        SymbolReference<ReferenceTypeDeclaration> res = element.tryToSolveType(name);
+        listener.typeLookup(element, name, res.isSolved(), System.nanoTime() - start);
+        return res;
+    }
+
     @Override
     public ReferenceTypeDeclaration solveType(String name) throws UnsolvedSymbolException {
         SymbolReference<ReferenceTypeDeclaration> res = tryToSolveType(name);
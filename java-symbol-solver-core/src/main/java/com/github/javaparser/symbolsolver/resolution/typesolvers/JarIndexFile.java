@@ -0,0 +1,186 @@
+/*
+ * Copyright 2016 Federico Tomassetti
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.github.javaparser.symbolsolver.resolution.typesolvers;
+
+import java.io.*;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.AtomicMoveNotSupportedException;
+import java.nio.file.Files;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.StandardOpenOption;
+
+/**
+ * The class-name index of a jar: the names of the classes it contains, stored in a file so that they can be reused by
+ * other processes without reading the jar again.
+ * <p>
+ * Only the names are stored. The supertypes, the members and the generic signatures of a class are not: the
+ * declarations returned by JarTypeSolver are built on the javassist class, so they are read from the jar when the
+ * class is requested. The index avoids listing the entries of the jars at startup and opening the jars containing no
+ * requested class.
+ * <p>
+ * The file is identified by the path of the jar and it records the size and the last modification time of the jar:
+ * when they do not match anymore the file is ignored. It is memory-mapped and looked up with a binary search
+ * directly on its content. The format is:
+ * <pre>
+ *   magic (int), version (int), jar path (string), jar size (long), jar last modified (long),
+ *   number of classes (int), offset of each class record (int each),
+ *   class records: class name (string), entry name (string)
+ * </pre>
+ * where strings are written as their length in bytes (unsigned short) followed by their UTF-8 encoding, the
+ * offsets are relative to the beginning of the class records and the records are sorted by class name.
+ *
+ * @author Federico Tomassetti
+ */
+final class JarIndexFile {
+
+    private static final int MAGIC = 0x4A535349;
+    private static final int VERSION = 1;
+
+    private final ByteBuffer buffer;
+    private final int size;
+    private final int offsetsStart;
+    private final int recordsStart;
+
+    private JarIndexFile(ByteBuffer buffer, int size, int offsetsStart) {
+        this.buffer = buffer;
+        this.size = size;
+        this.offsetsStart = offsetsStart;
+        this.recordsStart = offsetsStart + 4 * size;
+    }
+
+    /**
+     * The file storing the index of the given jar in the given directory.
+     */
+    static File indexFileFor(File indexDirectory, File jar) {
+        String path = jar.getAbsolutePath();
+        return new File(indexDirectory, jar.getName() + "-" + Integer.toHexString(path.hashCode()) + ".index");
+    }
+
+    /**
+     * Load the index of the given jar, if it has been stored in the given directory and the jar has not changed
+     * since then. Otherwise null is returned.
+     */
+    static JarIndexFile load(File indexDirectory, File jar) throws IOException {
+        File indexFile = indexFileFor(indexDirectory, jar);
+        if (!indexFile.isFile() || !jar.isFile()) {
+            return null;
+        }
+        ByteBuffer buffer;
+        try (FileChannel channel = FileChannel.open(indexFile.toPath(), StandardOpenOption.READ)) {
+            buffer = channel.map(FileChannel.MapMode.READ_ONLY, 0, channel.size());
+        }
+        try {
+            if (buffer.getInt() != MAGIC || buffer.getInt() != VERSION) {
+                return null;
+            }
+            String path = readString(buffer, buffer.position());
+            buffer.position(buffer.position() + 2 + (buffer.getShort(buffer.position()) & 0xFFFF));
+            if (!path.equals(jar.getAbsolutePath()) || buffer.getLong() != jar.length()
+                    || buffer.getLong() != jar.lastModified()) {
+                return null;
+            }
+            int size = buffer.getInt();
+            return new JarIndexFile(buffer, size, buffer.position());
+        } catch (RuntimeException e) {
+            // A truncated or corrupted file is just ignored and written again
+            return null;
+        }
+    }
+
+    /**
+     * Store the index of the given jar in the given directory. The class names have to be sorted and the entry
+     * names have to be in the same order. The file is first written aside and then moved in place, so that other
+     * processes never see it incomplete.
+     */
+    static void write(File indexDirectory, File jar, String[] classNames, String[] entryNames) throws IOException {
+        if (!indexDirectory.isDirectory() && !indexDirectory.mkdirs()) {
+            throw new IOException("Unable to create the directory " + indexDirectory);
+        }
+        ByteArrayOutputStream records = new ByteArrayOutputStream();
+        DataOutputStream recordsOut = new DataOutputStream(records);
+        int[] offsets = new int[classNames.length];
+        for (int i = 0; i < classNames.length; i++) {
+            offsets[i] = recordsOut.size();
+            writeString(recordsOut, classNames[i]);
+            writeString(recordsOut, entryNames[i]);
+        }
+        recordsOut.flush();
+
+        File indexFile = indexFileFor(indexDirectory, jar);
+        File tmpFile = File.createTempFile(indexFile.getName(), ".tmp", indexDirectory);
+        try {
+            try (DataOutputStream out = new DataOutputStream(new BufferedOutputStream(new FileOutputStream(tmpFile)))) {
+                out.writeInt(MAGIC);
+                out.writeInt(VERSION);
+                writeString(out, jar.getAbsolutePath());
+                out.writeLong(jar.length());
+                out.writeLong(jar.lastModified());
+                out.writeInt(classNames.length);
+                for (int offset : offsets) {
+                    out.writeInt(offset);
+                }
+                records.writeTo(out);
+            }
+            try {
+                Files.move(tmpFile.toPath(), indexFile.toPath(), StandardCopyOption.ATOMIC_MOVE,
+                        StandardCopyOption.REPLACE_EXISTING);
+            } catch (AtomicMoveNotSupportedException e) {
+                Files.move(tmpFile.toPath(), indexFile.toPath(), StandardCopyOption.REPLACE_EXISTING);
+            }
+        } finally {
+            Files.deleteIfExists(tmpFile.toPath());
+        }
+    }
+
+    /**
+     * The name of the entry containing the given class, or null if the jar does not contain it.
+     */
+    String findEntry(String className) {
+        int low = 0;
+        int high = size - 1;
+        while (low <= high) {
+            int middle = (low + high) >>> 1;
+            int record = recordsStart + buffer.getInt(offsetsStart + 4 * middle);
+            int comparison = readString(buffer, record).compareTo(className);
+            if (comparison < 0) {
+                low = middle + 1;
+            } else if (comparison > 0) {
+                high = middle - 1;
+            } else {
+                int entryName = record + 2 + (buffer.getShort(record) & 0xFFFF);
+                return readString(buffer, entryName);
+            }
+        }
+        return null;
+    }
+
+    private static void writeString(DataOutputStream out, String value) throws IOException {
+        byte[] bytes = value.getBytes(StandardCharsets.UTF_8);
+        out.writeShort(bytes.length);
+        out.write(bytes);
+    }
+
+    private static String readString(ByteBuffer buffer, int position) {
+        int length = buffer.getShort(position) & 0xFFFF;
+        byte[] bytes = new byte[length];
+        ByteBuffer view = buffer.duplicate();
+        view.position(position + 2);
+        view.get(bytes);
+        return new String(bytes, StandardCharsets.UTF_8);
+    }
+}
@@ -18,34 +18,73 @@ import com.github.javaparser.symbolsolver.javassistmodel.JavassistFactory;
 import com.github.javaparser.symbolsolver.model.declarations.ReferenceTypeDeclaration;
 import com.github.javaparser.symbolsolver.model.resolution.SymbolReference;
 import com.github.javaparser.symbolsolver.model.resolution.TypeSolver;
+import com.github.javaparser.symbolsolver.resolution.Instrumentation;
+import com.github.javaparser.symbolsolver.resolution.ResolutionListener;
 import com.github.javaparser.symbolsolver.model.resolution.UnsolvedSymbolException;
+import com.google.common.cache.Cache;
+import com.google.common.cache.CacheBuilder;
 import javassist.ClassPool;
 import javassist.CtClass;
 import javassist.NotFoundException;
 
+import java.io.File;
 import java.io.IOException;
 import java.io.InputStream;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Comparator;
 import java.util.Enumeration;
-import java.util.HashMap;
-import java.util.Map;
+import java.util.List;
+import java.util.concurrent.CopyOnWriteArrayList;
 import java.util.jar.JarEntry;
 import java.util.jar.JarFile;
 
 /**
+ * Solve types declared in jar files.
+ * <p>
+ * When a jar is added only the names of its entries are read, from the central directory of the jar, and kept in
+ * a sorted array. A class file is read and parsed only the first time the corresponding type is requested: the
+ * resulting declaration is then cached. The cache is bounded and its values are softly referenced, so declarations
+ * not used anymore can be reclaimed when memory is needed: they would be created again on the next request.
+ * <p>
+ * When an index directory is given a class-name index of each jar is stored there and reused by the solvers created
+ * later, also by other processes, as long as the jar is not modified. In that case a jar is opened only when a type
+ * it contains is requested. If the index cannot be stored the solver works anyway, with the index read from the jar.
+ *
  * @author Federico Tomassetti
  */
 public class JarTypeSolver implements TypeSolver {
 
+    /**
+     * Maximum number of declarations kept in the cache.
+     */
+    public static final long DECLARATIONS_CACHE_SIZE = 10_000;
+
     private static JarTypeSolver instance;
 
     private TypeSolver parent;
-    private Map<String, ClasspathElement> classpathElements = new HashMap<>();
+    private File indexDirectory;
+    // Read without locking by the threads solving types, while jars can still be added
+    private final List<JarIndex> jars = new CopyOnWriteArrayList<>();
+    private Cache<String, ReferenceTypeDeclaration> solvedTypes = CacheBuilder.newBuilder()
+            .maximumSize(DECLARATIONS_CACHE_SIZE).softValues().build();
     private ClassPool classPool = new ClassPool(false);
+    // The jars are added to the class pool only when the first class is read. Guarded by classPool
+    private boolean classPoolReady = false;
 
     public JarTypeSolver(String pathToJar) throws IOException {
         addPathToJar(pathToJar);
     }
 
+    /**
+     * @param indexDirectory the directory where the names of the classes contained in the jars are stored, to be
+     *                       reused by the next solvers. Failing to store them there is not an error
+     */
+    public JarTypeSolver(String pathToJar, File indexDirectory) throws IOException {
+        this.indexDirectory = indexDirectory;
+        addPathToJar(pathToJar);
+    }
+
     public static JarTypeSolver getJarTypeSolver(String pathToJar) throws IOException {
         if (instance == null) {
             instance = new JarTypeSolver(pathToJar);
@@ -56,20 +95,57 @@ public class JarTypeSolver implements TypeSolver {
     }
 
     private void addPathToJar(String pathToJar) throws IOException {
+        File jar = new File(pathToJar);
+        JarIndexFile indexFile = indexDirectory == null ? null : JarIndexFile.load(indexDirectory, jar);
+        JarIndex jarIndex;
+        if (indexFile != null) {
+            jarIndex = new JarIndex(pathToJar, indexFile);
+        } else {
+            JarFile jarFile = new JarFile(pathToJar);
+            List<String> entryNames = new ArrayList<>();
+            Enumeration<JarEntry> e = jarFile.entries();
+            while (e.hasMoreElements()) {
+                JarEntry entry = e.nextElement();
+                if (entry != null && !entry.isDirectory() && entry.getName().endsWith(".class")) {
+                    entryNames.add(entry.getName());
+                }
+            }
+            jarIndex = new JarIndex(pathToJar, jarFile, entryNames);
+            if (indexDirectory != null) {
+                try {
+                    JarIndexFile.write(indexDirectory, jar, jarIndex.classNames, jarIndex.entryNames);
+                } catch (IOException ignored) {
+                    // The index in memory is complete: the next solvers will just read the jar again
+                }
+            }
+        }
+        synchronized (classPool) {
+            if (classPoolReady) {
+                appendToClassPool(pathToJar);
+            }
+            jars.add(jarIndex);
+        }
+        // The new jar could contain types with the same name of types already solved
+        solvedTypes.invalidateAll();
+    }
+
+    private void appendToClassPool(String pathToJar) {
         try {
             classPool.appendClassPath(pathToJar);
             classPool.appendSystemPath();
         } catch (NotFoundException e) {
             throw new RuntimeException(e);
         }
-        JarFile jarFile = new JarFile(pathToJar);
-        JarEntry entry = null;
-        Enumeration<JarEntry> e = jarFile.entries();
-        while (e.hasMoreElements()) {
-            entry = e.nextElement();
-            if (entry != null && !entry.isDirectory() && entry.getName().endsWith(".class")) {
-                String name = entryPathToClassName(entry.getName());
-                classpathElements.put(name, new ClasspathElement(jarFile, entry, name));
+    }
+
+    /**
+     * Close the jar files opened so far by this solver. The solver can still be used: a jar is opened again when a
+     * type it contains is requested.
+     */
+    public void close() throws IOException {
+        synchronized (classPool) {
+            for (JarIndex jar : jars) {
+                jar.close();
             }
         }
     }
@@ -84,7 +160,7 @@ public class JarTypeSolver implements TypeSolver {
         this.parent = parent;
     }
 
-    private String entryPathToClassName(String entryPath) {
+    private static String entryPathToClassName(String entryPath) {
         if (!entryPath.endsWith(".class")) {
             throw new IllegalStateException();
         }
@@ -96,16 +172,26 @@ public class JarTypeSolver implements TypeSolver {
 
     @Override
     public SymbolReference<ReferenceTypeDeclaration> tryToSolveType(String name) {
-        try {
-            if (classpathElements.containsKey(name)) {
-                return SymbolReference.solved(
-                        JavassistFactory.toTypeDeclaration(classpathElements.get(name).toCtClass(), getRoot()));
-            } else {
-                return SymbolReference.unsolved(ReferenceTypeDeclaration.class);
+        ReferenceTypeDeclaration cached = solvedTypes.getIfPresent(name);
+        Instrumentation.getListener().cacheLookup(ResolutionListener.Cache.TYPE_DECLARATIONS, cached != null);
+        if (cached != null) {
+            return SymbolReference.solved(cached);
+        }
+        // When the same class is present in more jars the last jar added wins
+        for (int i = jars.size() - 1; i >= 0; i--) {
+            JarIndex jar = jars.get(i);
+            String entryName = jar.findEntry(name);
+            if (entryName != null) {
+                try {
+                    ReferenceTypeDeclaration typeDeclaration = JavassistFactory.toTypeDeclaration(jar.toCtClass(entryName), getRoot());
+                    ReferenceTypeDeclaration previous = solvedTypes.asMap().putIfAbsent(name, typeDeclaration);
+                    return SymbolReference.solved(previous == null ? typeDeclaration : previous);
+                } catch (IOException e) {
+                    throw new RuntimeException(e);
+                }
             }
-        } catch (IOException e) {
-            throw new RuntimeException(e);
         }
+        return SymbolReference.unsolved(ReferenceTypeDeclaration.class);
     }
 
     @Override
@@ -118,20 +204,69 @@ public class JarTypeSolver implements TypeSolver {
         }
     }
 
-    private class ClasspathElement {
+    /**
+     * The names of the classes contained in a jar, sorted so that they can be looked up with a binary search.
+     * Class names and entry names are stored in two parallel arrays instead of one object per entry, unless they
+     * are read from an index file. The jar is opened only when a class is read.
+     */
+    private class JarIndex {
+        private String pathToJar;
         private JarFile jarFile;
-        private JarEntry entry;
-        private String path;
+        private String[] classNames;
+        private String[] entryNames;
+        private JarIndexFile indexFile;
 
-        ClasspathElement(JarFile jarFile, JarEntry entry, String path) {
+        JarIndex(String pathToJar, JarFile jarFile, List<String> entries) {
+            this.pathToJar = pathToJar;
             this.jarFile = jarFile;
-            this.entry = entry;
-            this.path = path;
+            String[][] pairs = new String[entries.size()][];
+            for (int i = 0; i < pairs.length; i++) {
+                pairs[i] = new String[]{entryPathToClassName(entries.get(i)), entries.get(i)};
+            }
+            Arrays.sort(pairs, Comparator.comparing(pair -> pair[0]));
+            this.classNames = new String[pairs.length];
+            this.entryNames = new String[pairs.length];
+            for (int i = 0; i < pairs.length; i++) {
+                classNames[i] = pairs[i][0];
+                entryNames[i] = pairs[i][1];
+            }
+        }
+
+        JarIndex(String pathToJar, JarIndexFile indexFile) {
+            this.pathToJar = pathToJar;
+            this.indexFile = indexFile;
+        }
+
+        String findEntry(String className) {
+            if (indexFile != null) {
+                return indexFile.findEntry(className);
+            }
+            int position = Arrays.binarySearch(classNames, className);
+            return position >= 0 ? entryNames[position] : null;
+        }
+
+        CtClass toCtClass(String entryName) throws IOException {
+            synchronized (classPool) {
+                if (!classPoolReady) {
+                    for (JarIndex jar : jars) {
+                        appendToClassPool(jar.pathToJar);
+                    }
+                    classPoolReady = true;
+                }
+                if (jarFile == null) {
+                    jarFile = new JarFile(pathToJar);
+                }
+                try (InputStream is = jarFile.getInputStream(jarFile.getEntry(entryName))) {
+                    return classPool.makeClass(is);
+                }
+            }
         }
 
-        CtClass toCtClass() throws IOException {
-            try (InputStream is = jarFile.getInputStream(entry)) {
-                return classPool.makeClass(is);
+        // Called holding the lock of classPool, like toCtClass
+        void close() throws IOException {
+            if (jarFile != null) {
+                jarFile.close();
+                jarFile = null;
             }
         }
     }
@@ -17,36 +17,99 @@
 package com.github.javaparser.symbolsolver.resolution.typesolvers;
 
 import com.github.javaparser.JavaParser;
+import com.github.javaparser.ParseProblemException;
 import com.github.javaparser.ast.CompilationUnit;
+import com.github.javaparser.ast.Node;
+import com.github.javaparser.ast.body.BodyDeclaration;
+import com.github.javaparser.ast.body.TypeDeclaration;
 import com.github.javaparser.symbolsolver.javaparser.Navigator;
+import com.github.javaparser.symbolsolver.logic.AbstractTypeDeclaration;
 import com.github.javaparser.symbolsolver.javaparsermodel.JavaParserFacade;
+import com.github.javaparser.symbolsolver.javaparsermodel.JavaParserFactory;
+import com.github.javaparser.symbolsolver.javaparsermodel.declarations.JavaParserClassDeclaration;
+import com.github.javaparser.symbolsolver.javaparsermodel.declarations.JavaParserEnumDeclaration;
+import com.github.javaparser.symbolsolver.javaparsermodel.declarations.JavaParserInterfaceDeclaration;
 import com.github.javaparser.symbolsolver.model.declarations.ReferenceTypeDeclaration;
 import com.github.javaparser.symbolsolver.model.resolution.SymbolReference;
 import com.github.javaparser.symbolsolver.model.resolution.TypeSolver;
+import com.github.javaparser.symbolsolver.resolution.Instrumentation;
+import com.github.javaparser.symbolsolver.resolution.ResolutionListener;
+import com.google.common.cache.Cache;
+import com.google.common.cache.CacheBuilder;
 
 import java.io.File;
 import java.io.FileNotFoundException;
 import java.util.ArrayList;
+import java.util.Collections;
 import java.util.HashMap;
+import java.util.HashSet;
+import java.util.IdentityHashMap;
 import java.util.List;
 import java.util.Map;
 import java.util.Optional;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
 
 /**
+ * By default all the files parsed and all the types found are kept in memory. A limit can be set on the size of
+ * the files whose AST is retained, and ASTs can be softly referenced, so that they are reclaimed when memory is
+ * needed: the files are then parsed again when they are needed. In both cases the declarations which are still
+ * referenced remain valid, because they keep their own AST.
+ *
  * @author Federico Tomassetti
  */
 public class JavaParserTypeSolver implements TypeSolver {
 
+    /**
+     * No limit on the size of the files whose AST is retained.
+     */
+    public static final long UNLIMITED = -1;
+
     private File srcDir;
 
     private TypeSolver parent;
 
-    private Map<String, CompilationUnit> parsedFiles = new HashMap<String, CompilationUnit>();
-    private Map<String, List<CompilationUnit>> parsedDirectories = new HashMap<>();
-    private Map<String, ReferenceTypeDeclaration> foundTypes=new HashMap<>();
+    // These caches can be accessed by different threads sharing this type solver. Two threads could parse the same
+    // file at the same time: only the first result is kept
+    private Map<String, CompilationUnit> parsedFiles;
+    // The java files contained in each directory: their compilation units are found in parsedFiles
+    private Map<String, List<File>> parsedDirectories = new ConcurrentHashMap<>();
+    private Map<String, ReferenceTypeDeclaration> foundTypes;
+    // The path of the file declaring each type found, so that only the types of a changed file are found again
+    private Map<String, String> foundTypesFiles = new ConcurrentHashMap<>();
+    // When present it maps the qualified name of each type declared under srcDir (nested types included) to the
+    // path of the file declaring it, and it is used instead of probing the file system
+    private volatile Map<String, String> typeIndex;
 
     public JavaParserTypeSolver(File srcDir) {
+        this(srcDir, UNLIMITED, false);
+    }
+
+    /**
+     * @param maxParsedSourceBytes the maximum total size, in bytes of source code, of the files whose AST is kept
+     *                             in memory, or UNLIMITED. The least recently used ASTs are evicted first
+     * @param softReferences       whether the ASTs and the types found can be reclaimed when memory is needed
+     */
+    public JavaParserTypeSolver(File srcDir, long maxParsedSourceBytes, boolean softReferences) {
         this.srcDir = srcDir;
+        CacheBuilder<Object, Object> parsedFilesBuilder = CacheBuilder.newBuilder();
+        CacheBuilder<Object, Object> foundTypesBuilder = CacheBuilder.newBuilder();
+        if (maxParsedSourceBytes != UNLIMITED) {
+            parsedFilesBuilder.maximumWeight(maxParsedSourceBytes)
+                    .weigher((String path, CompilationUnit cu) -> (int) Math.min(new File(path).length(), Integer.MAX_VALUE));
+            // The declarations keep their AST, so they are retained only while they are used elsewhere
+            foundTypesBuilder.weakValues();
+        }
+        if (softReferences) {
+            parsedFilesBuilder.softValues();
+            if (maxParsedSourceBytes == UNLIMITED) {
+                foundTypesBuilder.softValues();
+            }
+        }
+        Cache<String, CompilationUnit> parsedFilesCache = parsedFilesBuilder.build();
+        Cache<String, ReferenceTypeDeclaration> foundTypesCache = foundTypesBuilder.build();
+        this.parsedFiles = parsedFilesCache.asMap();
+        this.foundTypes = foundTypesCache.asMap();
     }
 
     @Override
@@ -69,26 +132,218 @@ public class JavaParserTypeSolver implements TypeSolver {
 
 
     private CompilationUnit parse(File srcFile) throws FileNotFoundException {
-        if (!parsedFiles.containsKey(srcFile.getAbsolutePath())) {
-            parsedFiles.put(srcFile.getAbsolutePath(), JavaParser.parse(srcFile));
+        String path = srcFile.getAbsolutePath();
+        CompilationUnit compilationUnit = parsedFiles.get(path);
+        ResolutionListener listener = Instrumentation.getListener();
+        listener.cacheLookup(ResolutionListener.Cache.PARSED_FILES, compilationUnit != null);
+        if (compilationUnit == null) {
+            if (listener == ResolutionListener.NONE) {
+                compilationUnit = JavaParser.parse(srcFile);
+            } else {
+                long start = System.nanoTime();
+                compilationUnit = JavaParser.parse(srcFile);
+                listener.fileParsed(srcFile, System.nanoTime() - start);
+            }
+            CompilationUnit previous = parsedFiles.putIfAbsent(path, compilationUnit);
+            if (previous != null) {
+                compilationUnit = previous;
+            }
         }
-        return parsedFiles.get(srcFile.getAbsolutePath());
+        return compilationUnit;
     }
 
-    private List<CompilationUnit> parseDirectory(File srcDirectory) throws FileNotFoundException {
-        if (!parsedDirectories.containsKey(srcDirectory.getAbsolutePath())) {
-            List<CompilationUnit> units = new ArrayList<>();
+    private List<File> javaFilesIn(File srcDirectory) throws FileNotFoundException {
+        String path = srcDirectory.getAbsolutePath();
+        List<File> javaFiles = parsedDirectories.get(path);
+        if (javaFiles == null) {
+            javaFiles = new ArrayList<>();
             File[] files = srcDirectory.listFiles();
-            if (files == null) throw new FileNotFoundException(srcDirectory.getAbsolutePath());
+            if (files == null) throw new FileNotFoundException(path);
             for (File file : files) {
                 if (file.getName().toLowerCase().endsWith(".java")) {
-                    units.add(parse(file));
+                    javaFiles.add(file);
                 }
             }
-            parsedDirectories.put(srcDirectory.getAbsolutePath(), units);
+            List<File> previous = parsedDirectories.putIfAbsent(path, javaFiles);
+            if (previous != null) {
+                javaFiles = previous;
+            }
         }
+        return javaFiles;
+    }
+
+    /**
+     * Scan the whole source directory once, parsing the files in parallel, and record where each type (top-level or
+     * nested) is declared. From then on types are found with a single lookup in the index and names which are not
+     * in the index are immediately considered unsolved, without touching the file system.
+     * Files which cannot be parsed are not indexed.
+     */
+    public void buildIndex() {
+        if (!srcDir.exists() || !srcDir.isDirectory()) {
+            throw new IllegalStateException("SrcDir does not exist or is not a directory: " + srcDir.getAbsolutePath());
+        }
+        List<File> files = new ArrayList<>();
+        collectJavaFiles(srcDir, files);
+        Map<String, String> index = new ConcurrentHashMap<>();
+        files.parallelStream().forEach(file -> {
+            try {
+                CompilationUnit compilationUnit = parse(file);
+                String packagePrefix = compilationUnit.getPackageDeclaration()
+                        .map(p -> p.getNameAsString() + ".").orElse("");
+                for (TypeDeclaration<?> type : compilationUnit.getTypes()) {
+                    indexType(type, packagePrefix, file.getAbsolutePath(), index);
+                }
+            } catch (FileNotFoundException | ParseProblemException e) {
+                // Ignore
+            }
+        });
+        typeIndex = index;
+    }
+
+    public boolean isIndexed() {
+        return typeIndex != null;
+    }
+
+    /**
+     * Notify the solver that the given file has been created or modified. It is parsed again right away, to know
+     * the types it declares now, while all the other files are not parsed again. Only the types declared in the
+     * file, before or after the change, and the types extending them are found again, and only the types and
+     * symbols calculated in their files are forgotten. The ones calculated for expressions of other files which
+     * merely use the changed types are kept: JavaParserFacade.clearCaches(TypeSolver) forgets them too.
+     */
+    public void fileChanged(File file) {
+        invalidate(file, true);
+    }
 
-        return parsedDirectories.get(srcDirectory.getAbsolutePath());
+    /**
+     * Notify the solver that the given file has been deleted. The types it declared are not solved anymore.
+     */
+    public void fileDeleted(File file) {
+        invalidate(file, false);
+    }
+
+    private void invalidate(File file, boolean exists) {
+        String path = file.getAbsolutePath();
+        // The roots of the ASTs whose caches have to be cleared, compared by identity
+        Set<Node> toClear = Collections.newSetFromMap(new IdentityHashMap<>());
+        CompilationUnit previous = parsedFiles.remove(path);
+        if (previous != null) {
+            toClear.add(previous);
+        }
+        // The listing of the directory has to be calculated again when a file is added or removed
+        parsedDirectories.remove(file.getAbsoluteFile().getParent());
+
+        // The names which could now be solved differently: the ones declared in the file before and after the change
+        Set<String> changedNames = new HashSet<>();
+        removeNamesDeclaredIn(path, foundTypesFiles, changedNames);
+        Map<String, String> index = typeIndex;
+        if (index != null) {
+            removeNamesDeclaredIn(path, index, changedNames);
+        }
+        if (exists) {
+            try {
+                CompilationUnit compilationUnit = parse(file);
+                String packagePrefix = compilationUnit.getPackageDeclaration()
+                        .map(p -> p.getNameAsString() + ".").orElse("");
+                Map<String, String> declared = new HashMap<>();
+                for (TypeDeclaration<?> type : compilationUnit.getTypes()) {
+                    indexType(type, packagePrefix, path, declared);
+                }
+                changedNames.addAll(declared.keySet());
+                if (index != null) {
+                    declared.keySet().forEach(name -> index.putIfAbsent(name, path));
+                }
+            } catch (FileNotFoundException | ParseProblemException e) {
+                // Ignore
+            }
+        }
+
+        // The types extending the changed ones memoized the old declarations among their ancestors, so they are
+        // dropped too, together with the contexts, declarations, types and symbols cached in the nodes of their
+        // files. Their files are not parsed again
+        Set<String> affectedNames = new HashSet<>(changedNames);
+        foundTypes.forEach((name, declaration) -> {
+            if (declaration instanceof AbstractTypeDeclaration
+                    && ((AbstractTypeDeclaration) declaration).hasMemoizedAncestorIn(changedNames)) {
+                affectedNames.add(name);
+            }
+        });
+        for (String name : affectedNames) {
+            ReferenceTypeDeclaration declaration = foundTypes.remove(name);
+            Node node = declaration == null ? null : wrappedNode(declaration);
+            if (node != null) {
+                toClear.add(rootOf(node));
+            }
+        }
+        for (Node root : toClear) {
+            JavaParserFactory.clearCaches(root);
+            JavaParserFacade.clearCaches(root);
+        }
+        for (ReferenceTypeDeclaration declaration : foundTypes.values()) {
+            if (declaration instanceof AbstractTypeDeclaration) {
+                ((AbstractTypeDeclaration) declaration).forgetSolvedMethodsInvolving(affectedNames);
+            }
+        }
+
+        for (TypeSolver typeSolver = this; typeSolver != null; typeSolver = typeSolver.getParent()) {
+            if (typeSolver instanceof CombinedTypeSolver) {
+                ((CombinedTypeSolver) typeSolver).invalidateCache(affectedNames);
+            }
+        }
+    }
+
+    private static void removeNamesDeclaredIn(String path, Map<String, String> pathsByName, Set<String> removed) {
+        pathsByName.entrySet().removeIf(entry -> {
+            if (path.equals(entry.getValue())) {
+                removed.add(entry.getKey());
+                return true;
+            }
+            return false;
+        });
+    }
+
+    private static Node rootOf(Node node) {
+        Node root = node;
+        while (root.getParentNode().isPresent()) {
+            root = root.getParentNode().get();
+        }
+        return root;
+    }
+
+    private static Node wrappedNode(ReferenceTypeDeclaration declaration) {
+        if (declaration instanceof JavaParserClassDeclaration) {
+            return ((JavaParserClassDeclaration) declaration).getWrappedNode();
+        } else if (declaration instanceof JavaParserInterfaceDeclaration) {
+            return ((JavaParserInterfaceDeclaration) declaration).getWrappedNode();
+        } else if (declaration instanceof JavaParserEnumDeclaration) {
+            return ((JavaParserEnumDeclaration) declaration).getWrappedNode();
+        } else {
+            return null;
+        }
+    }
+
+    private static void collectJavaFiles(File directory, List<File> files) {
+        File[] children = directory.listFiles();
+        if (children == null) {
+            return;
+        }
+        for (File child : children) {
+            if (child.isDirectory()) {
+                collectJavaFiles(child, files);
+            } else if (child.getName().toLowerCase().endsWith(".java")) {
+                files.add(child);
+            }
+        }
+    }
+
+    private static void indexType(TypeDeclaration<?> type, String prefix, String path, Map<String, String> index) {
+        String qualifiedName = prefix + type.getNameAsString();
+        index.putIfAbsent(qualifiedName, path);
+        for (BodyDeclaration<?> member : type.getMembers()) {
+            if (member instanceof TypeDeclaration) {
+                indexType((TypeDeclaration<?>) member, qualifiedName + ".", path, index);
+            }
+        }
     }
 
     @Override
@@ -99,8 +354,11 @@ public class JavaParserTypeSolver implements TypeSolver {
 
         // TODO support enums
         // TODO support interfaces
-        if (foundTypes.containsKey(name))
-        	return SymbolReference.solved(foundTypes.get(name));
+        ReferenceTypeDeclaration cached = foundTypes.get(name);
+        Instrumentation.getListener().cacheLookup(ResolutionListener.Cache.TYPE_DECLARATIONS, cached != null);
+        if (cached != null) {
+            return SymbolReference.solved(cached);
+        }
 
         SymbolReference<ReferenceTypeDeclaration> result = tryToSolveTypeUncached(name);
         if (result.isSolved()) {
@@ -111,6 +369,11 @@ public class JavaParserTypeSolver implements TypeSolver {
     }
 
     private SymbolReference<ReferenceTypeDeclaration> tryToSolveTypeUncached(String name) {
+        Map<String, String> index = typeIndex;
+        if (index != null) {
+            return tryToSolveTypeUsingIndex(name, index);
+        }
+
         String[] nameElements = name.split("\\.");
 
         for (int i = nameElements.length; i > 0; i--) {
@@ -133,18 +396,19 @@ public class JavaParserTypeSolver implements TypeSolver {
                 CompilationUnit compilationUnit = parse(srcFile);
                 Optional<com.github.javaparser.ast.body.TypeDeclaration<?>> astTypeDeclaration = Navigator.findType(compilationUnit, typeName);
                 if (astTypeDeclaration.isPresent()) {
-                    return SymbolReference.solved(JavaParserFacade.get(this).getTypeDeclaration(astTypeDeclaration.get()));
+                    return solvedIn(name, srcFile.getAbsolutePath(), astTypeDeclaration.get());
                 }
             } catch (FileNotFoundException e) {
                 // Ignore
             }
 
             try {
-                List<CompilationUnit> compilationUnits = parseDirectory(srcFile.getParentFile());
-                for (CompilationUnit compilationUnit : compilationUnits) {
+                // The files are parsed one at a time, until the type is found
+                for (File file : javaFilesIn(srcFile.getParentFile())) {
+                    CompilationUnit compilationUnit = parse(file);
                     Optional<com.github.javaparser.ast.body.TypeDeclaration<?>> astTypeDeclaration = Navigator.findType(compilationUnit, typeName);
                     if (astTypeDeclaration.isPresent()) {
-                        return SymbolReference.solved(JavaParserFacade.get(this).getTypeDeclaration(astTypeDeclaration.get()));
+                        return solvedIn(name, file.getAbsolutePath(), astTypeDeclaration.get());
                     }
                 }
             } catch (FileNotFoundException e) {
@@ -155,4 +419,31 @@ public class JavaParserTypeSolver implements TypeSolver {
         return SymbolReference.unsolved(ReferenceTypeDeclaration.class);
     }
 
+    private SymbolReference<ReferenceTypeDeclaration> tryToSolveTypeUsingIndex(String name, Map<String, String> index) {
+        String path = index.get(name);
+        if (path == null) {
+            return SymbolReference.unsolved(ReferenceTypeDeclaration.class);
+        }
+        try {
+            CompilationUnit compilationUnit = parse(new File(path));
+            String typeName = name;
+            if (compilationUnit.getPackageDeclaration().isPresent()) {
+                typeName = name.substring(compilationUnit.getPackageDeclaration().get().getNameAsString().length() + 1);
+            }
+            Optional<com.github.javaparser.ast.body.TypeDeclaration<?>> astTypeDeclaration = Navigator.findType(compilationUnit, typeName);
+            if (astTypeDeclaration.isPresent()) {
+                return solvedIn(name, path, astTypeDeclaration.get());
+            }
+        } catch (FileNotFoundException e) {
+            // Ignore
+        }
+        return SymbolReference.unsolved(ReferenceTypeDeclaration.class);
+    }
+
+    private SymbolReference<ReferenceTypeDeclaration> solvedIn(String name, String path,
+                                                               com.github.javaparser.ast.body.TypeDeclaration<?> astTypeDeclaration) {
+        foundTypesFiles.put(name, path);
+        return SymbolReference.solved(JavaParserFacade.get(this).getTypeDeclaration(astTypeDeclaration));
+    }
+
 }
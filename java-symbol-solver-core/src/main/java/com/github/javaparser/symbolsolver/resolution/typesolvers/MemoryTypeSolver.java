@@ -70,6 +70,10 @@ public class MemoryTypeSolver implements TypeSolver {
         this.parent = parent;
     }
 
+    /**
+     * Add a declaration. A CombinedTypeSolver containing this solver could have remembered the name as unsolved:
+     * its cache has to be invalidated.
+     */
     public void addDeclaration(String name, ReferenceTypeDeclaration typeDeclaration) {
         this.declarationMap.put(name, typeDeclaration);
     }
@@ -19,7 +19,11 @@ package com.github.javaparser.symbolsolver.resolution.typesolvers;
 import com.github.javaparser.symbolsolver.model.declarations.ReferenceTypeDeclaration;
 import com.github.javaparser.symbolsolver.model.resolution.SymbolReference;
 import com.github.javaparser.symbolsolver.model.resolution.TypeSolver;
+import com.github.javaparser.symbolsolver.resolution.Instrumentation;
+import com.github.javaparser.symbolsolver.resolution.ResolutionListener;
 import com.github.javaparser.symbolsolver.reflectionmodel.ReflectionFactory;
+import com.google.common.cache.Cache;
+import com.google.common.cache.CacheBuilder;
 
 import java.util.Optional;
 
@@ -28,7 +32,19 @@ import java.util.Optional;
  */
 public class ReflectionTypeSolver implements TypeSolver {
 
+    /**
+     * Maximum number of names, solved or not, kept in the cache.
+     */
+    public static final long DECLARATIONS_CACHE_SIZE = 10_000;
+
+    // Shared by all the names which cannot be solved, so that they are not looked up again through the class loader
+    private static final SymbolReference<ReferenceTypeDeclaration> UNSOLVED =
+            SymbolReference.unsolved(ReferenceTypeDeclaration.class);
+
     private TypeSolver parent;
+    // Declarations are softly referenced, so they can be reclaimed when memory is needed
+    private Cache<String, SymbolReference<ReferenceTypeDeclaration>> solvedTypes = CacheBuilder.newBuilder()
+            .maximumSize(DECLARATIONS_CACHE_SIZE).softValues().build();
 
     public ReflectionTypeSolver(boolean jreOnly) {
         this.jreOnly = jreOnly;
@@ -52,6 +68,20 @@ public class ReflectionTypeSolver implements TypeSolver {
 
     @Override
     public SymbolReference<ReferenceTypeDeclaration> tryToSolveType(String name) {
+        SymbolReference<ReferenceTypeDeclaration> cached = solvedTypes.getIfPresent(name);
+        Instrumentation.getListener().cacheLookup(ResolutionListener.Cache.TYPE_DECLARATIONS, cached != null);
+        if (cached != null) {
+            return cached;
+        }
+        SymbolReference<ReferenceTypeDeclaration> result = tryToSolveTypeUncached(name);
+        if (!result.isSolved()) {
+            result = UNSOLVED;
+        }
+        SymbolReference<ReferenceTypeDeclaration> previous = solvedTypes.asMap().putIfAbsent(name, result);
+        return previous == null ? result : previous;
+    }
+
+    private SymbolReference<ReferenceTypeDeclaration> tryToSolveTypeUncached(String name) {
         if (!jreOnly || (name.startsWith("java.") || name.startsWith("javax."))) {
             try {
                 ClassLoader classLoader = ReflectionTypeSolver.class.getClassLoader();
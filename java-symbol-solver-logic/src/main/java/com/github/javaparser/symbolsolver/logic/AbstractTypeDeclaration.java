@@ -20,21 +20,206 @@ import com.github.javaparser.symbolsolver.model.declarations.MethodDeclaration;
 import com.github.javaparser.symbolsolver.model.declarations.ReferenceTypeDeclaration;
 import com.github.javaparser.symbolsolver.model.declarations.TypeDeclaration;
 import com.github.javaparser.symbolsolver.model.methods.MethodUsage;
+import com.github.javaparser.symbolsolver.model.resolution.SymbolReference;
+import com.github.javaparser.symbolsolver.model.resolution.TypeSolver;
 import com.github.javaparser.symbolsolver.model.typesystem.ReferenceType;
 
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.Collections;
 import java.util.HashSet;
 import java.util.List;
+import java.util.Map;
 import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.function.Supplier;
+import java.util.regex.Pattern;
 
 /**
  * Common ancestor for most types.
+ * <p>
+ * The ancestors closure, the table of all the methods and the indexes of declared and inherited methods by name are
+ * computed the first time they are requested and then memoized in the declaration: callers receive their own copy of
+ * the ancestors list, while the collections of methods are unmodifiable. The memoized values live as long as the
+ * declaration: when some types change, type solvers drop the declarations of those types and of the types extending
+ * them, and the values are recomputed on the new ones. A declaration can also be marked as outdated when the code it
+ * was created from changes: the values memoized by it, and by the declarations having it among their ancestors, are
+ * then computed again. Subclasses overriding getAllAncestors do not benefit from the memoization of the ancestors.
  *
  * @author Federico Tomassetti
  */
 public abstract class AbstractTypeDeclaration implements ReferenceTypeDeclaration {
 
+    // Separates the names of the types in an invocation signature
+    private static final Pattern NOT_IN_NAMES = Pattern.compile("[^\\w.$]+");
+
+    private volatile List<ReferenceType> allAncestors;
+    private volatile Set<MethodUsage> allMethods;
+    private volatile MethodsIndex<MethodDeclaration> declaredMethodsIndex;
+    private volatile MethodsIndex<MethodUsage> allMethodsIndex;
+    private volatile Map<TypeSolver, Map<String, SymbolReference<MethodDeclaration>>> solvedMethods;
+    private volatile boolean outdated;
+
+    /**
+     * Mark the declaration as outdated, because the code it was created from has changed since.
+     */
+    public final void markOutdated() {
+        outdated = true;
+    }
+
+    public final boolean isOutdated() {
+        return outdated;
+    }
+
+    @Override
+    public List<ReferenceType> getAllAncestors() {
+        forgetOutdatedValues();
+        List<ReferenceType> ancestors = allAncestors;
+        if (ancestors == null) {
+            ancestors = ReferenceTypeDeclaration.super.getAllAncestors();
+            allAncestors = ancestors;
+        }
+        return new ArrayList<>(ancestors);
+    }
+
     @Override
     public final Set<MethodUsage> getAllMethods() {
+        forgetOutdatedValues();
+        Set<MethodUsage> methods = allMethods;
+        if (methods == null) {
+            methods = Collections.unmodifiableSet(calculateAllMethods());
+            allMethods = methods;
+        }
+        return methods;
+    }
+
+    @Override
+    public final List<MethodDeclaration> getDeclaredMethodsByName(String name) {
+        return declaredMethodsIndex().getByName(name);
+    }
+
+    @Override
+    public final List<MethodDeclaration> getDeclaredMethodsByName(String name, int argumentsCount) {
+        return declaredMethodsIndex().getByName(name, argumentsCount);
+    }
+
+    @Override
+    public final List<MethodUsage> getAllMethodsByName(String name) {
+        return allMethodsIndex().getByName(name);
+    }
+
+    @Override
+    public final List<MethodUsage> getAllMethodsByName(String name, int argumentsCount) {
+        return allMethodsIndex().getByName(name, argumentsCount);
+    }
+
+    /**
+     * Solve a method in this type, reusing the result obtained the last time the same invocation was solved with the
+     * same type solver. The results live as long as the declaration.
+     *
+     * @param invocationSignature a canonical description of the invocation, which identifies the method it resolves to
+     * @param solver              solves the invocation the first time it is seen
+     */
+    public final SymbolReference<MethodDeclaration> solveMethodCached(String invocationSignature, TypeSolver typeSolver,
+                                                                      Supplier<SymbolReference<MethodDeclaration>> solver) {
+        forgetOutdatedValues();
+        Map<TypeSolver, Map<String, SymbolReference<MethodDeclaration>>> cache = solvedMethods;
+        if (cache == null) {
+            cache = new ConcurrentHashMap<>();
+            solvedMethods = cache;
+        }
+        Map<String, SymbolReference<MethodDeclaration>> solvedWithTypeSolver =
+                cache.computeIfAbsent(typeSolver, ts -> new ConcurrentHashMap<>());
+        SymbolReference<MethodDeclaration> result = solvedWithTypeSolver.get(invocationSignature);
+        if (result == null) {
+            // Solving the method could solve other methods of this type, so it is not done inside computeIfAbsent
+            result = solver.get();
+            SymbolReference<MethodDeclaration> previous = solvedWithTypeSolver.putIfAbsent(invocationSignature, result);
+            if (previous != null) {
+                result = previous;
+            }
+        }
+        return result;
+    }
+
+    /**
+     * Whether the memoized ancestors include one of the types with the given qualified names. It is false when the
+     * ancestors have not been calculated yet, as nothing memoized depends on them then.
+     */
+    public final boolean hasMemoizedAncestorIn(Collection<String> qualifiedNames) {
+        List<ReferenceType> ancestors = allAncestors;
+        if (ancestors == null) {
+            return false;
+        }
+        for (ReferenceType ancestor : ancestors) {
+            if (qualifiedNames.contains(ancestor.getQualifiedName())) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    /**
+     * Forget the methods solved for invocations whose arguments have one of the types with the given qualified
+     * names, as the method which is the most applicable could now be a different one.
+     */
+    public final void forgetSolvedMethodsInvolving(Collection<String> qualifiedNames) {
+        Map<TypeSolver, Map<String, SymbolReference<MethodDeclaration>>> cache = solvedMethods;
+        if (cache == null) {
+            return;
+        }
+        for (Map<String, SymbolReference<MethodDeclaration>> solvedWithTypeSolver : cache.values()) {
+            solvedWithTypeSolver.keySet().removeIf(invocationSignature ->
+                    Arrays.stream(NOT_IN_NAMES.split(invocationSignature)).anyMatch(qualifiedNames::contains));
+        }
+    }
+
+    /**
+     * Forget the memoized values if this declaration, or one of the memoized ancestors, is outdated.
+     */
+    private void forgetOutdatedValues() {
+        List<ReferenceType> ancestors = allAncestors;
+        if (outdated || (ancestors != null && hasOutdatedDeclaration(ancestors))) {
+            allAncestors = null;
+            allMethods = null;
+            declaredMethodsIndex = null;
+            allMethodsIndex = null;
+            solvedMethods = null;
+        }
+    }
+
+    private static boolean hasOutdatedDeclaration(List<ReferenceType> types) {
+        for (ReferenceType type : types) {
+            ReferenceTypeDeclaration declaration = type.getTypeDeclaration();
+            if (declaration instanceof AbstractTypeDeclaration && ((AbstractTypeDeclaration) declaration).outdated) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    private MethodsIndex<MethodDeclaration> declaredMethodsIndex() {
+        forgetOutdatedValues();
+        MethodsIndex<MethodDeclaration> index = declaredMethodsIndex;
+        if (index == null) {
+            index = new MethodsIndex<>(getDeclaredMethods(), m -> m);
+            declaredMethodsIndex = index;
+        }
+        return index;
+    }
+
+    private MethodsIndex<MethodUsage> allMethodsIndex() {
+        forgetOutdatedValues();
+        MethodsIndex<MethodUsage> index = allMethodsIndex;
+        if (index == null) {
+            index = new MethodsIndex<>(getAllMethods(), MethodUsage::getDeclaration);
+            allMethodsIndex = index;
+        }
+        return index;
+    }
+
+    private Set<MethodUsage> calculateAllMethods() {
         Set<MethodUsage> methods = new HashSet<>();
 
         Set<String> methodsSignatures = new HashSet<>();
@@ -0,0 +1,68 @@
+/*
+ * Copyright 2016 Federico Tomassetti
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.github.javaparser.symbolsolver.logic;
+
+import com.github.javaparser.symbolsolver.model.declarations.MethodDeclaration;
+
+import java.util.*;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.function.Function;
+import java.util.stream.Collectors;
+
+/**
+ * Methods of a type grouped by name and then by the number of arguments they accept.
+ * The groups by number of arguments are calculated the first time they are requested.
+ *
+ * @author Federico Tomassetti
+ */
+class MethodsIndex<M> {
+
+    private final Map<String, Overloads<M>> overloadsByName = new HashMap<>();
+
+    MethodsIndex(Collection<M> methods, Function<M, MethodDeclaration> toDeclaration) {
+        for (M method : methods) {
+            String name = toDeclaration.apply(method).getName();
+            overloadsByName.computeIfAbsent(name, n -> new Overloads<>(toDeclaration)).methods.add(method);
+        }
+    }
+
+    List<M> getByName(String name) {
+        Overloads<M> overloads = overloadsByName.get(name);
+        return overloads == null ? Collections.emptyList() : Collections.unmodifiableList(overloads.methods);
+    }
+
+    List<M> getByName(String name, int argumentsCount) {
+        Overloads<M> overloads = overloadsByName.get(name);
+        return overloads == null ? Collections.emptyList() : overloads.acceptingArgumentsCount(argumentsCount);
+    }
+
+    private static class Overloads<M> {
+        private final Function<M, MethodDeclaration> toDeclaration;
+        private final List<M> methods = new ArrayList<>();
+        private final Map<Integer, List<M>> byArgumentsCount = new ConcurrentHashMap<>();
+
+        private Overloads(Function<M, MethodDeclaration> toDeclaration) {
+            this.toDeclaration = toDeclaration;
+        }
+
+        private List<M> acceptingArgumentsCount(int argumentsCount) {
+            return byArgumentsCount.computeIfAbsent(argumentsCount, n -> Collections.unmodifiableList(methods.stream()
+                    .filter(m -> toDeclaration.apply(m).acceptsArgumentsCount(n))
+                    .collect(Collectors.toList())));
+        }
+    }
+}
@@ -110,6 +110,18 @@ public interface MethodLikeDeclaration extends Declaration, TypeParametrizable,
         }
     }
 
+    /**
+     * Could the method or constructor be invoked with the given number of arguments?
+     * When there is a variadic parameter it could receive any number of values, also none.
+     */
+    default boolean acceptsArgumentsCount(int argumentsCount) {
+        if (hasVariadicParameter()) {
+            return argumentsCount >= getNumberOfParams() - 1;
+        } else {
+            return argumentsCount == getNumberOfParams();
+        }
+    }
+
     @Override
     default Optional<TypeParameterDeclaration> findTypeParameter(String name) {
         for (TypeParameterDeclaration tp : this.getTypeParameters()) {
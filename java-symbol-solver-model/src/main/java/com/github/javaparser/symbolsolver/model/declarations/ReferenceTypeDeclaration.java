@@ -6,6 +6,7 @@ import com.github.javaparser.symbolsolver.model.typesystem.ReferenceType;
 import com.github.javaparser.symbolsolver.model.typesystem.Type;
 
 import java.util.ArrayList;
+import java.util.HashSet;
 import java.util.List;
 import java.util.Optional;
 import java.util.Set;
@@ -39,14 +40,17 @@ public interface ReferenceTypeDeclaration extends TypeDeclaration, TypeParametri
      * The list of all the ancestors of the current declaration, direct and indirect.
      * This list does not contains duplicates with the exacting same type parameters.
      */
-    default List<ReferenceType> getAllAncestors() {     
+    default List<ReferenceType> getAllAncestors() {
         List<ReferenceType> ancestors = new ArrayList<>();
+        // Used to check for duplicates without scanning the list each time
+        Set<ReferenceType> alreadyAdded = new HashSet<>();
         // We want to avoid infinite recursion in case of Object having Object as ancestor
-        if (!(Object.class.getCanonicalName().equals(getQualifiedName()))) {       
+        if (!(Object.class.getCanonicalName().equals(getQualifiedName()))) {
             for (ReferenceType ancestor : getAncestors()) {
-                ancestors.add(ancestor);    
+                ancestors.add(ancestor);
+                alreadyAdded.add(ancestor);
                 for (ReferenceType inheritedAncestor : ancestor.getAllAncestors()) {
-                    if (!ancestors.contains(inheritedAncestor)) {
+                    if (alreadyAdded.add(inheritedAncestor)) {
                         ancestors.add(inheritedAncestor);
                     }
                 }
@@ -157,6 +161,36 @@ public interface ReferenceTypeDeclaration extends TypeDeclaration, TypeParametri
      */
     Set<MethodUsage> getAllMethods();
 
+    /**
+     * Return the methods declared in this type declaration with the given name.
+     */
+    default List<MethodDeclaration> getDeclaredMethodsByName(String name) {
+        return getDeclaredMethods().stream().filter(m -> m.getName().equals(name)).collect(Collectors.toList());
+    }
+
+    /**
+     * Return the methods declared in this type declaration with the given name which could be invoked
+     * with the given number of arguments.
+     */
+    default List<MethodDeclaration> getDeclaredMethodsByName(String name, int argumentsCount) {
+        return getDeclaredMethodsByName(name).stream().filter(m -> m.acceptsArgumentsCount(argumentsCount)).collect(Collectors.toList());
+    }
+
+    /**
+     * Return the methods, either declared or inherited, with the given name.
+     */
+    default List<MethodUsage> getAllMethodsByName(String name) {
+        return getAllMethods().stream().filter(m -> m.getName().equals(name)).collect(Collectors.toList());
+    }
+
+    /**
+     * Return the methods, either declared or inherited, with the given name which could be invoked
+     * with the given number of arguments.
+     */
+    default List<MethodUsage> getAllMethodsByName(String name, int argumentsCount) {
+        return getAllMethodsByName(name).stream().filter(m -> m.getDeclaration().acceptsArgumentsCount(argumentsCount)).collect(Collectors.toList());
+    }
+
     ///
     /// Assignability
     ///
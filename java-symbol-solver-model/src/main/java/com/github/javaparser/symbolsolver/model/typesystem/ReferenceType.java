@@ -230,14 +230,12 @@ public abstract class ReferenceType implements Type, TypeParametrized, TypeParam
     public List<ReferenceType> getAllAncestors() {
         // We need to go through the inheritance line and propagate the type parametes
 
-        List<ReferenceType> ancestors = typeDeclaration.getAllAncestors();
-
-        ancestors = ancestors.stream()
+        // Avoid repetitions of Object: it is filtered out before substituting the type parameters and added once
+        List<ReferenceType> ancestors = typeDeclaration.getAllAncestors().stream()
+                .filter(a -> !a.getQualifiedName().equals(Object.class.getCanonicalName()))
                 .map(a -> typeParametersMap().replaceAll(a).asReferenceType())
                 .collect(Collectors.toList());
 
-        // Avoid repetitions of Object
-        ancestors.removeIf(a -> a.getQualifiedName().equals(Object.class.getCanonicalName()));
         ReferenceTypeDeclaration objectType = typeSolver.solveType(Object.class.getCanonicalName());
         ReferenceType objectRef = create(objectType, typeSolver);
         ancestors.add(objectRef);
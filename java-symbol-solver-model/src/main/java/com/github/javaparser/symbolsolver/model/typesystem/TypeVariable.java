@@ -59,7 +59,11 @@ public class TypeVariable implements Type {
 
     @Override
     public int hashCode() {
-        return typeParameter.hashCode();
+        // Consistent with equals: type parameters with the same name and kind are equal
+        int result = typeParameter.getName().hashCode();
+        result = 31 * result + (typeParameter.declaredOnType() ? 1 : 0);
+        result = 31 * result + (typeParameter.declaredOnMethod() ? 1 : 0);
+        return result;
     }
 
     @Override
@@ -21,6 +21,7 @@ import com.github.javaparser.ParseException;
 import com.github.javaparser.ast.CompilationUnit;
 import com.github.javaparser.symbolsolver.AbstractTest;
 import com.github.javaparser.symbolsolver.javaparser.Navigator;
+import com.github.javaparser.symbolsolver.javaparsermodel.JavaParserFactory;
 import com.github.javaparser.symbolsolver.model.declarations.AccessLevel;
 import com.github.javaparser.symbolsolver.model.declarations.ConstructorDeclaration;
 import com.github.javaparser.symbolsolver.model.declarations.FieldDeclaration;
@@ -33,6 +34,7 @@ import com.github.javaparser.symbolsolver.model.typesystem.PrimitiveType;
 import com.github.javaparser.symbolsolver.model.typesystem.ReferenceType;
 import com.github.javaparser.symbolsolver.model.typesystem.ReferenceTypeImpl;
 import com.github.javaparser.symbolsolver.reflectionmodel.ReflectionFactory;
+import com.github.javaparser.symbolsolver.resolution.MethodResolutionLogic;
 import com.github.javaparser.symbolsolver.resolution.typesolvers.CombinedTypeSolver;
 import com.github.javaparser.symbolsolver.resolution.typesolvers.JavaParserTypeSolver;
 import com.github.javaparser.symbolsolver.resolution.typesolvers.ReflectionTypeSolver;
@@ -43,6 +45,7 @@ import org.junit.Test;
 
 import java.io.File;
 import java.io.IOException;
+import java.util.Collections;
 import java.util.List;
 import java.util.Set;
 import java.util.stream.Collectors;
@@ -106,6 +109,56 @@ public class JavaParserClassDeclarationTest extends AbstractTest {
         assertEquals(false, compilationUnit.isTypeParameter());
     }
 
+    @Test
+    public void testEqualsAndHashCode() {
+        String code = "class A { void foo() { int a = 1; } void bar() { } }";
+        com.github.javaparser.ast.body.ClassOrInterfaceDeclaration node = Navigator.demandClass(JavaParser.parse(code), "A");
+        com.github.javaparser.ast.body.ClassOrInterfaceDeclaration sameNode = Navigator.demandClass(JavaParser.parse(code), "A");
+        com.github.javaparser.ast.body.ClassOrInterfaceDeclaration otherNode = Navigator.demandClass(JavaParser.parse("class A { }"), "A");
+
+        JavaParserClassDeclaration declaration = (JavaParserClassDeclaration) JavaParserFactory.toTypeDeclaration(node, typeSolver);
+        assertEquals(true, declaration == JavaParserFactory.toTypeDeclaration(node, typeSolver));
+        assertEquals(declaration, new JavaParserClassDeclaration(sameNode, typeSolver));
+        assertEquals(declaration.hashCode(), new JavaParserClassDeclaration(sameNode, typeSolver).hashCode());
+        assertEquals(false, declaration.equals(new JavaParserClassDeclaration(otherNode, typeSolver)));
+        assertEquals(declaration.getDeclaredMethods(), declaration.getDeclaredMethods());
+    }
+
+    @Test
+    public void memoizedValuesFollowTheChangesOfTheAst() {
+        CompilationUnit cu = JavaParser.parse("class A { void foo() { } } class B extends A { void bar() { } }");
+        com.github.javaparser.ast.body.ClassOrInterfaceDeclaration a = Navigator.demandClass(cu, "A");
+        com.github.javaparser.ast.body.ClassOrInterfaceDeclaration b = Navigator.demandClass(cu, "B");
+        TypeSolver typeSolver = new ReflectionTypeSolver();
+        JavaParserClassDeclaration declarationOfB = (JavaParserClassDeclaration) JavaParserFactory.toTypeDeclaration(b, typeSolver);
+        assertEquals(true, hasMethod(declarationOfB, "foo"));
+        assertEquals(false, hasMethod(declarationOfB, "baz"));
+        assertEquals(false, MethodResolutionLogic.solveMethodInType(declarationOfB, "baz", Collections.emptyList(), typeSolver).isSolved());
+        assertEquals(2, declarationOfB.getAllAncestors().size());
+
+        // A method added to the supertype is seen by the declaration of the subtype
+        a.addMethod("baz");
+        assertEquals(true, hasMethod(declarationOfB, "baz"));
+        assertEquals(true, MethodResolutionLogic.solveMethodInType(declarationOfB, "baz", Collections.emptyList(), typeSolver).isSolved());
+
+        // The declaration of a changed type is replaced, and the previous one recomputes its values
+        b.addImplementedType("Runnable");
+        assertEquals(true, declarationOfB.isOutdated());
+        JavaParserClassDeclaration newDeclarationOfB = (JavaParserClassDeclaration) JavaParserFactory.toTypeDeclaration(b, typeSolver);
+        assertEquals(false, declarationOfB == newDeclarationOfB);
+        assertEquals(3, newDeclarationOfB.getAllAncestors().size());
+        assertEquals(3, declarationOfB.getAllAncestors().size());
+        assertEquals(true, hasMethod(newDeclarationOfB, "run"));
+
+        // Changes inside the bodies of the methods do not replace the declaration
+        b.getMethodsByName("bar").get(0).getBody().get().addStatement("int i = 0;");
+        assertEquals(true, newDeclarationOfB == JavaParserFactory.toTypeDeclaration(b, typeSolver));
+    }
+
+    private static boolean hasMethod(JavaParserClassDeclaration declaration, String name) {
+        return declaration.getAllMethods().stream().anyMatch(m -> m.getName().equals(name));
+    }
+
     @Test
     public void testIsType() {
         JavaParserClassDeclaration compilationUnit = (JavaParserClassDeclaration) typeSolver.solveType("com.github.javaparser.ast.CompilationUnit");
@@ -31,6 +31,7 @@ import java.util.*;
 import java.util.stream.Collectors;
 
 import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertSame;
 import static org.junit.Assert.assertTrue;
 
 public class ReflectionClassDeclarationTest {
@@ -289,6 +290,36 @@ public class ReflectionClassDeclarationTest {
         assertEquals(new ReferenceTypeImpl(new ReflectionInterfaceDeclaration(Serializable.class, typeResolver), typeResolver), ancestors.get("java.io.Serializable"));
     }
 
+    @Test
+    public void testAllAncestorsAndAllMethodsAreMemoized() {
+        TypeSolver typeResolver = new ReflectionTypeSolver();
+        ClassDeclaration arraylist = new ReflectionClassDeclaration(ArrayList.class, typeResolver);
+        List<ReferenceType> ancestors = arraylist.getAllAncestors();
+        int size = ancestors.size();
+        ancestors.clear();
+        assertEquals(size, arraylist.getAllAncestors().size());
+        assertSame(arraylist.getAllMethods(), arraylist.getAllMethods());
+    }
+
+    @Test
+    public void testMethodsByNameAndArgumentsCount() {
+        TypeSolver typeResolver = new ReflectionTypeSolver();
+        ClassDeclaration string = new ReflectionClassDeclaration(String.class, typeResolver);
+
+        assertEquals(2, string.getDeclaredMethodsByName("format").size());
+        // format(String, Object...) and format(Locale, String, Object...)
+        assertEquals(1, string.getDeclaredMethodsByName("format", 1).size());
+        assertEquals(2, string.getDeclaredMethodsByName("format", 2).size());
+        assertEquals(2, string.getDeclaredMethodsByName("format", 5).size());
+        assertEquals(0, string.getDeclaredMethodsByName("format", 0).size());
+        assertEquals(0, string.getDeclaredMethodsByName("foo", 1).size());
+
+        // hashCode is declared by String, getClass is inherited from Object
+        assertEquals(1, string.getAllMethodsByName("hashCode", 0).size());
+        assertEquals(1, string.getAllMethodsByName("getClass", 0).size());
+        assertEquals(0, string.getAllMethodsByName("getClass", 1).size());
+    }
+
     @Test
     public void testGetSuperclassWithoutTypeParameters() {
         ReflectionClassDeclaration compilationUnit = (ReflectionClassDeclaration) typeResolver.solveType("com.github.javaparser.ast.CompilationUnit");
@@ -19,21 +19,26 @@ package com.github.javaparser.symbolsolver.reflectionmodel;
 import com.github.javaparser.symbolsolver.model.declarations.InterfaceDeclaration;
 import com.github.javaparser.symbolsolver.model.declarations.MethodDeclaration;
 import com.github.javaparser.symbolsolver.model.declarations.ReferenceTypeDeclaration;
+import com.github.javaparser.symbolsolver.model.resolution.SymbolReference;
 import com.github.javaparser.symbolsolver.model.resolution.TypeSolver;
+import com.github.javaparser.symbolsolver.model.typesystem.NullType;
 import com.github.javaparser.symbolsolver.model.typesystem.ReferenceType;
 import com.github.javaparser.symbolsolver.model.typesystem.ReferenceTypeImpl;
 import com.github.javaparser.symbolsolver.model.typesystem.TypeVariable;
+import com.github.javaparser.symbolsolver.resolution.MethodResolutionLogic;
 import com.github.javaparser.symbolsolver.resolution.typesolvers.ReflectionTypeSolver;
 import com.google.common.collect.ImmutableList;
 import org.junit.Test;
 
 import java.util.Collection;
+import java.util.Collections;
 import java.util.HashMap;
 import java.util.List;
 import java.util.Map;
 import java.util.stream.Collectors;
 
 import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertSame;
 
 public class ReflectionInterfaceDeclarationTest {
 
@@ -69,4 +74,29 @@ public class ReflectionInterfaceDeclarationTest {
         assertEquals(new ReferenceTypeImpl(new ReflectionInterfaceDeclaration(Iterable.class, typeResolver), ImmutableList.of(typeVariable), typeResolver), ancestors.get("java.lang.Iterable"));
     }
 
+    @Test
+    public void testSolveMethodConsidersInheritedMethodsAndObject() {
+        TypeSolver typeResolver = new ReflectionTypeSolver();
+        ReflectionInterfaceDeclaration list = new ReflectionInterfaceDeclaration(List.class, typeResolver);
+
+        SymbolReference<MethodDeclaration> size = MethodResolutionLogic.solveMethodInType(list, "size", Collections.emptyList(), false, typeResolver);
+        assertEquals(true, size.isSolved());
+        assertEquals("java.util.List", size.getCorrespondingDeclaration().declaringType().getQualifiedName());
+        assertSame(size.getCorrespondingDeclaration(), MethodResolutionLogic.solveMethodInType(list, "size", Collections.emptyList(), false, typeResolver).getCorrespondingDeclaration());
+
+        SymbolReference<MethodDeclaration> spliterator = MethodResolutionLogic.solveMethodInType(list, "spliterator", Collections.emptyList(), false, typeResolver);
+        assertEquals(true, spliterator.isSolved());
+        assertEquals("java.util.List", spliterator.getCorrespondingDeclaration().declaringType().getQualifiedName());
+
+        SymbolReference<MethodDeclaration> forEach = MethodResolutionLogic.solveMethodInType(list, "forEach", ImmutableList.of(NullType.INSTANCE), false, typeResolver);
+        assertEquals(true, forEach.isSolved());
+        assertEquals("java.lang.Iterable", forEach.getCorrespondingDeclaration().declaringType().getQualifiedName());
+
+        SymbolReference<MethodDeclaration> getClass = MethodResolutionLogic.solveMethodInType(list, "getClass", Collections.emptyList(), false, typeResolver);
+        assertEquals(true, getClass.isSolved());
+        assertEquals("java.lang.Object", getClass.getCorrespondingDeclaration().declaringType().getQualifiedName());
+
+        assertEquals(false, MethodResolutionLogic.solveMethodInType(list, "size", Collections.emptyList(), true, typeResolver).isSolved());
+    }
+
 }
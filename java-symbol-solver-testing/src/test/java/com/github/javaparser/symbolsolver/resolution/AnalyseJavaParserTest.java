@@ -29,6 +29,8 @@ import java.io.*;
 import java.nio.charset.StandardCharsets;
 import java.nio.file.Files;
 import java.nio.file.Paths;
+import java.util.List;
+import java.util.stream.Collectors;
 
 import static org.junit.Assert.assertEquals;
 import static org.junit.Assert.assertTrue;
@@ -261,4 +263,46 @@ public class AnalyseJavaParserTest extends AbstractTest {
         parse("com/github/javaparser/ASTHelper");
     }
 
+    @Test
+    public void parseStatementsInParallel() throws IOException, ParseException {
+        File statements = new File(src.getAbsolutePath() + "/com/github/javaparser/ast/stmt");
+        PrintStream discarded = new PrintStream(new ByteArrayOutputStream());
+
+        SourceFileInfoExtractor sequentialExtractor = getSourceFileInfoExtractor();
+        sequentialExtractor.setOut(discarded);
+        sequentialExtractor.solve(statements);
+
+        SourceFileInfoExtractor parallelExtractor = getSourceFileInfoExtractor();
+        parallelExtractor.setOut(discarded);
+        List<SourceFileInfoExtractor.FileResult> results = parallelExtractor.solveInParallel(statements)
+                .collect(Collectors.toList());
+
+        assertEquals(statements.listFiles().length, results.size());
+        assertTrue(results.stream().noneMatch(r -> r.getFailure().isPresent()));
+        assertEquals(sequentialExtractor.getOk(), parallelExtractor.getOk());
+        assertEquals(sequentialExtractor.getOk(), results.stream().mapToInt(SourceFileInfoExtractor.FileResult::getOk).sum());
+        assertEquals(0, parallelExtractor.getKo());
+        assertEquals(0, parallelExtractor.getUnsupported());
+    }
+
+    @Test
+    public void resolutionRecordsOfStatements() throws IOException, ParseException {
+        File statements = new File(src.getAbsolutePath() + "/com/github/javaparser/ast/stmt");
+
+        SourceFileInfoExtractor sequentialExtractor = getSourceFileInfoExtractor();
+        sequentialExtractor.setOut(new PrintStream(new ByteArrayOutputStream()));
+        sequentialExtractor.solve(statements);
+
+        List<SourceFileInfoExtractor.ResolutionRecord> records = getSourceFileInfoExtractor().resolutionRecords(statements)
+                .collect(Collectors.toList());
+
+        assertTrue(records.stream().noneMatch(r -> r.getFailure().isPresent()));
+        assertEquals(sequentialExtractor.getOk(), records.stream()
+                .filter(r -> r.getKind() == SourceFileInfoExtractor.ResolutionRecord.Kind.EXPRESSION_TYPE)
+                .filter(SourceFileInfoExtractor.ResolutionRecord::isSolved)
+                .count());
+        assertTrue(records.stream().anyMatch(r -> r.getKind() == SourceFileInfoExtractor.ResolutionRecord.Kind.METHOD_CALL));
+        assertTrue(records.stream().allMatch(r -> r.getRange().isPresent()));
+    }
+
 }
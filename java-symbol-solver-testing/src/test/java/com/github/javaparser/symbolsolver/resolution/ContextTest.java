@@ -27,8 +27,11 @@ import com.github.javaparser.ast.expr.MethodCallExpr;
 import com.github.javaparser.ast.expr.NameExpr;
 import com.github.javaparser.ast.stmt.ExpressionStmt;
 import com.github.javaparser.symbolsolver.AbstractTest;
+import com.github.javaparser.symbolsolver.core.resolution.Context;
 import com.github.javaparser.symbolsolver.javaparser.Navigator;
 import com.github.javaparser.symbolsolver.javaparsermodel.JavaParserFacade;
+import com.github.javaparser.symbolsolver.javaparsermodel.JavaParserFactory;
+import com.github.javaparser.symbolsolver.javaparsermodel.declarations.JavaParserClassDeclaration;
 import com.github.javaparser.symbolsolver.model.declarations.ClassDeclaration;
 import com.github.javaparser.symbolsolver.model.declarations.ReferenceTypeDeclaration;
 import com.github.javaparser.symbolsolver.model.declarations.TypeDeclaration;
@@ -43,10 +46,18 @@ import org.junit.Test;
 import java.io.File;
 import java.io.IOException;
 import java.io.InputStream;
+import java.util.ArrayList;
 import java.util.Collections;
+import java.util.List;
+import java.util.concurrent.CyclicBarrier;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
 
 import static org.easymock.EasyMock.*;
 import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertNotSame;
+import static org.junit.Assert.assertSame;
 
 public class ContextTest extends AbstractTest {
 
@@ -479,4 +490,65 @@ public class ContextTest extends AbstractTest {
         assertEquals("java.lang.Object", ref.getParamTypes().get(0).describe());
     }
 
+    @Test
+    public void contextsAreCreatedOncePerNode() throws ParseException {
+        CompilationUnit cu = parseSample("ReferencesToField");
+        com.github.javaparser.ast.body.ClassOrInterfaceDeclaration referencesToField = Navigator.demandClass(cu, "ReferencesToField");
+        MethodDeclaration method1 = Navigator.demandMethod(referencesToField, "method1");
+        ExpressionStmt stmt = (ExpressionStmt) method1.getBody().get().getStatements().get(0);
+        AssignExpr assignExpr = (AssignExpr) stmt.getExpression();
+
+        Context context = JavaParserFactory.getContext(assignExpr.getTarget(), typeSolver);
+
+        assertSame(context, JavaParserFactory.getContext(stmt, typeSolver));
+        assertSame(context.getParent(), context.getParent());
+        assertSame(JavaParserFactory.getContext(cu, typeSolver), JavaParserFactory.getContext(referencesToField, typeSolver).getParent());
+        assertNotSame(context, JavaParserFactory.getContext(stmt, new ReflectionTypeSolver()));
+    }
+
+    @Test
+    public void contextsAndDeclarationsAreSharedBetweenThreads() throws Exception {
+        TypeSolver sharedTypeSolver = new CombinedTypeSolver(new ReflectionTypeSolver(),
+                new JavaParserTypeSolver(adaptPath(new File("src/test/resources/javaparser_src/proper_source"))));
+        String[] typeNames = {"com.github.javaparser.ast.Node", "com.github.javaparser.ast.CompilationUnit",
+                "com.github.javaparser.ast.body.ClassOrInterfaceDeclaration",
+                "com.github.javaparser.ast.visitor.DumpVisitor"};
+        int threads = 8;
+        CyclicBarrier barrier = new CyclicBarrier(threads);
+        ExecutorService executor = Executors.newFixedThreadPool(threads);
+        try {
+            List<Future<List<Object>>> results = new ArrayList<>();
+            for (int i = 0; i < threads; i++) {
+                results.add(executor.submit(() -> {
+                    barrier.await();
+                    List<Object> found = new ArrayList<>();
+                    for (String typeName : typeNames) {
+                        ReferenceTypeDeclaration type = sharedTypeSolver.solveType(typeName);
+                        found.add(type);
+                        com.github.javaparser.ast.body.ClassOrInterfaceDeclaration node =
+                                ((JavaParserClassDeclaration) type).getWrappedNode();
+                        for (MethodDeclaration method : Navigator.findAllNodesOfGivenClass(node, MethodDeclaration.class)) {
+                            found.add(JavaParserFactory.getContext(method, sharedTypeSolver));
+                            found.add(JavaParserFactory.toMethodDeclaration(method, sharedTypeSolver));
+                        }
+                        for (NameExpr nameExpr : Navigator.findAllNodesOfGivenClass(node, NameExpr.class)) {
+                            found.add(JavaParserFactory.getContext(nameExpr, sharedTypeSolver));
+                        }
+                    }
+                    return found;
+                }));
+            }
+            List<Object> expected = results.get(0).get();
+            for (Future<List<Object>> result : results) {
+                List<Object> found = result.get();
+                assertEquals(expected.size(), found.size());
+                for (int i = 0; i < expected.size(); i++) {
+                    assertSame(expected.get(i), found.get(i));
+                }
+            }
+        } finally {
+            executor.shutdown();
+        }
+    }
+
 }
@@ -0,0 +1,167 @@
+/*
+ * Copyright 2016 Federico Tomassetti
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.github.javaparser.symbolsolver.resolution;
+
+import com.github.javaparser.ParseException;
+import com.github.javaparser.ast.CompilationUnit;
+import com.github.javaparser.ast.body.ClassOrInterfaceDeclaration;
+import com.github.javaparser.ast.body.MethodDeclaration;
+import com.github.javaparser.ast.expr.MethodCallExpr;
+import com.github.javaparser.symbolsolver.core.resolution.Context;
+import com.github.javaparser.symbolsolver.javaparser.Navigator;
+import com.github.javaparser.symbolsolver.javaparsermodel.JavaParserFacade;
+import com.github.javaparser.symbolsolver.model.resolution.SymbolReference;
+import com.github.javaparser.symbolsolver.model.resolution.TypeSolver;
+import com.github.javaparser.symbolsolver.resolution.typesolvers.CombinedTypeSolver;
+import com.github.javaparser.symbolsolver.resolution.typesolvers.ReflectionTypeSolver;
+import org.junit.After;
+import org.junit.Test;
+
+import java.util.Arrays;
+import java.util.List;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertSame;
+import static org.junit.Assert.assertTrue;
+
+public class InstrumentationTest extends AbstractResolutionTest {
+
+    private static class CountingListener implements ResolutionListener {
+        private AtomicInteger typeLookups = new AtomicInteger();
+        private AtomicInteger parentContexts = new AtomicInteger();
+        private AtomicInteger methodCandidates = new AtomicInteger();
+        private AtomicInteger cacheHits = new AtomicInteger();
+        private AtomicInteger cacheMisses = new AtomicInteger();
+        private AtomicInteger methodCalls = new AtomicInteger();
+        private List<String> routingLookups = new CopyOnWriteArrayList<>();
+        private AtomicInteger typeDeclarationLookups = new AtomicInteger();
+
+        @Override
+        public void typeLookup(TypeSolver typeSolver, String name, boolean solved, long nanos) {
+            typeLookups.incrementAndGet();
+        }
+
+        @Override
+        public void parentContextRequested(Context context) {
+            parentContexts.incrementAndGet();
+        }
+
+        @Override
+        public void methodCandidates(String name, int candidates, int applicable) {
+            methodCandidates.incrementAndGet();
+        }
+
+        @Override
+        public void cacheLookup(Cache cache, boolean hit) {
+            (hit ? cacheHits : cacheMisses).incrementAndGet();
+            if (cache == Cache.COMBINED_ROUTING) {
+                routingLookups.add(hit ? "hit" : "miss");
+            } else if (cache == Cache.TYPE_DECLARATIONS) {
+                typeDeclarationLookups.incrementAndGet();
+            }
+        }
+
+        @Override
+        public void methodCallSolved(MethodCallExpr methodCallExpr, long nanos) {
+            methodCalls.incrementAndGet();
+        }
+    }
+
+    @After
+    public void restoreDefaultListener() {
+        Instrumentation.setListener(null);
+    }
+
+    @Test
+    public void theInstalledListenerIsNotified() throws ParseException {
+        CompilationUnit cu = parseSample("MethodCalls");
+        ClassOrInterfaceDeclaration clazz = Navigator.demandClass(cu, "MethodCalls");
+        MethodDeclaration method = Navigator.demandMethod(clazz, "inheritedInterfaceMethod");
+        MethodCallExpr expression = Navigator.findMethodCall(method, "toString");
+
+        CountingListener listener = new CountingListener();
+        Instrumentation.setListener(listener);
+        assertSame(listener, Instrumentation.getListener());
+
+        JavaParserFacade javaParserFacade = JavaParserFacade.get(new CombinedTypeSolver(new ReflectionTypeSolver()));
+        assertEquals(true, javaParserFacade.solve(expression).isSolved());
+
+        assertEquals(1, listener.methodCalls.get());
+        assertTrue(listener.typeLookups.get() > 0);
+        assertTrue(listener.parentContexts.get() > 0);
+        assertTrue(listener.methodCandidates.get() > 0);
+        assertTrue(listener.cacheMisses.get() > 0);
+
+        int hitsBefore = listener.cacheHits.get();
+        javaParserFacade.getType(expression);
+        javaParserFacade.getType(expression);
+        assertTrue(listener.cacheHits.get() > hitsBefore);
+    }
+
+    @Test
+    public void eachMethodCallIsSolvedOnce() throws ParseException {
+        CompilationUnit cu = parseSample("MethodCalls");
+        ClassOrInterfaceDeclaration clazz = Navigator.demandClass(cu, "MethodCalls");
+        MethodDeclaration method = Navigator.demandMethod(clazz, "inheritedInterfaceMethod");
+        MethodCallExpr expression = Navigator.findMethodCall(method, "toString");
+
+        CountingListener listener = new CountingListener();
+        Instrumentation.setListener(listener);
+
+        JavaParserFacade javaParserFacade = JavaParserFacade.get(new CombinedTypeSolver(new ReflectionTypeSolver()));
+        SymbolReference<com.github.javaparser.symbolsolver.model.declarations.MethodDeclaration> ref = javaParserFacade.solve(expression);
+        assertSame(ref, javaParserFacade.solve(expression));
+        assertSame(ref, javaParserFacade.solve(expression, false));
+        assertEquals(1, listener.methodCalls.get());
+    }
+
+    @Test
+    public void nothingIsReportedOnceTheListenerIsRemoved() throws ParseException {
+        CompilationUnit cu = parseSample("MethodCalls");
+        ClassOrInterfaceDeclaration clazz = Navigator.demandClass(cu, "MethodCalls");
+        MethodDeclaration method = Navigator.demandMethod(clazz, "inheritedInterfaceMethod");
+        MethodCallExpr expression = Navigator.findMethodCall(method, "toString");
+
+        CountingListener listener = new CountingListener();
+        Instrumentation.setListener(listener);
+        Instrumentation.setListener(null);
+        assertSame(ResolutionListener.NONE, Instrumentation.getListener());
+
+        JavaParserFacade.get(new CombinedTypeSolver(new ReflectionTypeSolver())).solve(expression);
+        assertEquals(0, listener.methodCalls.get());
+        assertEquals(0, listener.typeLookups.get());
+    }
+
+    @Test
+    public void combinedTypeSolverReportsItsOwnCache() {
+        CountingListener listener = new CountingListener();
+        Instrumentation.setListener(listener);
+
+        CombinedTypeSolver typeSolver = new CombinedTypeSolver(new ReflectionTypeSolver());
+        typeSolver.tryToSolveType("java.lang.String");
+        typeSolver.tryToSolveType("java.lang.String");
+        typeSolver.tryToSolveType("java.lang.NotExisting");
+        typeSolver.tryToSolveType("java.lang.NotExisting");
+        assertEquals(Arrays.asList("miss", "hit", "miss", "hit"), listener.routingLookups);
+        int typeDeclarationLookups = listener.typeDeclarationLookups.get();
+        assertTrue(typeDeclarationLookups > 0);
+        // A name no element could solve is answered by the combined solver alone
+        typeSolver.tryToSolveType("java.lang.NotExisting");
+        assertEquals(typeDeclarationLookups, listener.typeDeclarationLookups.get());
+    }
+}
@@ -19,11 +19,18 @@ package com.github.javaparser.symbolsolver.resolution;
 import com.github.javaparser.JavaParser;
 import com.github.javaparser.ParseException;
 import com.github.javaparser.ast.CompilationUnit;
+import com.github.javaparser.ast.NodeList;
 import com.github.javaparser.ast.body.ClassOrInterfaceDeclaration;
 import com.github.javaparser.ast.body.FieldDeclaration;
+import com.github.javaparser.ast.expr.BinaryExpr;
+import com.github.javaparser.ast.expr.BooleanLiteralExpr;
+import com.github.javaparser.ast.expr.ConditionalExpr;
+import com.github.javaparser.ast.expr.EnclosedExpr;
 import com.github.javaparser.ast.expr.Expression;
 import com.github.javaparser.ast.expr.MethodCallExpr;
 import com.github.javaparser.ast.expr.NameExpr;
+import com.github.javaparser.ast.expr.UnaryExpr;
+import com.github.javaparser.ast.stmt.ReturnStmt;
 import com.github.javaparser.ast.type.Type;
 import com.github.javaparser.symbolsolver.javaparser.Navigator;
 import com.github.javaparser.symbolsolver.javaparsermodel.JavaParserFacade;
@@ -31,11 +38,22 @@ import com.github.javaparser.symbolsolver.model.declarations.TypeDeclaration;
 import com.github.javaparser.symbolsolver.model.declarations.ValueDeclaration;
 import com.github.javaparser.symbolsolver.model.methods.MethodUsage;
 import com.github.javaparser.symbolsolver.model.resolution.SymbolReference;
+import com.github.javaparser.symbolsolver.model.resolution.TypeSolver;
 import com.github.javaparser.symbolsolver.model.typesystem.ReferenceType;
 import com.github.javaparser.symbolsolver.resolution.typesolvers.ReflectionTypeSolver;
 import org.junit.Test;
 
+import java.lang.ref.WeakReference;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.function.IntFunction;
+import java.util.stream.Collectors;
+
 import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertSame;
 
 
 public class JavaParserFacadeResolutionTest extends AbstractResolutionTest {
@@ -129,4 +147,150 @@ public class JavaParserFacadeResolutionTest extends AbstractResolutionTest {
         assertEquals(true, type.isReferenceType());
         assertEquals("java.util.Scanner", type.asReferenceType().getQualifiedName());
     }
+
+    @Test
+    public void facadeCanBeSharedBetweenThreads() throws Exception {
+        String code = "import java.util.*; class A { void foo() {\n" +
+                "    List<String> l = new ArrayList<>();\n" +
+                "    l.add(\"a\");\n" +
+                "    String s = l.get(0).trim().substring(1);\n" +
+                "    int n = s.length() + l.size();\n" +
+                "} }";
+        TypeSolver typeSolver = new ReflectionTypeSolver();
+        ExecutorService executor = Executors.newFixedThreadPool(4);
+        try {
+            List<Future<String>> results = new ArrayList<>();
+            for (int i = 0; i < 16; i++) {
+                results.add(executor.submit(() -> {
+                    CompilationUnit cu = JavaParser.parse(code);
+                    return Navigator.findAllNodesOfGivenClass(cu, MethodCallExpr.class).stream()
+                            .map(m -> JavaParserFacade.get(typeSolver).getType(m).describe())
+                            .collect(Collectors.joining(","));
+                }));
+            }
+            for (Future<String> result : results) {
+                assertEquals("boolean,java.lang.String,java.lang.String,java.lang.String,int,int", result.get());
+            }
+            assertSame(JavaParserFacade.get(typeSolver), executor.submit(() -> JavaParserFacade.get(typeSolver)).get());
+        } finally {
+            executor.shutdown();
+        }
+    }
+
+    private static final int CONCATENATION_TERMS = 10_000;
+
+    /**
+     * Build the expression returned by a method, as long chains cannot be parsed without overflowing the stack.
+     */
+    private static BinaryExpr returnedChain(String returnType, String first, IntFunction<String> operand, IntFunction<BinaryExpr.Operator> operator) {
+        Expression chain = JavaParser.parseExpression(first);
+        for (int i = 1; i < CONCATENATION_TERMS; i++) {
+            chain = new BinaryExpr(chain, JavaParser.parseExpression(operand.apply(i)), operator.apply(i));
+        }
+        return (BinaryExpr) returned(returnType + " foo()", chain);
+    }
+
+    private static Expression returned(String signature, Expression expression) {
+        CompilationUnit cu = JavaParser.parse("class A { " + signature + " { return null; } }");
+        ReturnStmt returnStmt = Navigator.findReturnStmt(Navigator.demandMethod(Navigator.demandClass(cu, "A"), "foo"));
+        returnStmt.setExpression(expression);
+        return expression;
+    }
+
+    @Test
+    public void typeOfLongStringConcatenation() {
+        BinaryExpr concatenation = returnedChain("String", "\"a\"", i -> i % 3 == 0 ? "\"a\"" : i % 3 == 1 ? "1" : "'c'", i -> BinaryExpr.Operator.PLUS);
+
+        JavaParserFacade javaParserFacade = JavaParserFacade.get(new ReflectionTypeSolver());
+        assertEquals("java.lang.String", javaParserFacade.getType(concatenation).describe());
+        assertEquals("java.lang.String", javaParserFacade.getType(concatenation.getLeft(), false).describe());
+    }
+
+    @Test
+    public void typeOfLongArithmeticExpression() {
+        BinaryExpr expression = returnedChain("long", "1", i -> i == CONCATENATION_TERMS - 1 ? "1L" : i % 2 == 0 ? "2" : "(1 > 0 ? 2 : 3) % 4",
+                i -> i % 3 == 0 ? BinaryExpr.Operator.MULTIPLY : i % 3 == 1 ? BinaryExpr.Operator.MINUS : BinaryExpr.Operator.PLUS);
+
+        assertEquals("long", JavaParserFacade.get(new ReflectionTypeSolver()).getType(expression).describe());
+        assertEquals("int", JavaParserFacade.get(new ReflectionTypeSolver()).getType(expression.getLeft()).describe());
+    }
+
+    @Test
+    public void typeOfLongChainOfMethodCalls() {
+        Expression chain = new NameExpr("sb");
+        for (int i = 0; i < CONCATENATION_TERMS; i++) {
+            Expression argument = JavaParser.parseExpression(i % 2 == 0 ? "x" : "\"a\"");
+            chain = new MethodCallExpr(chain, "append", NodeList.nodeList(argument));
+        }
+        Expression returned = returned("StringBuilder foo(StringBuilder sb, int x)", chain);
+
+        assertEquals("java.lang.StringBuilder", JavaParserFacade.get(new ReflectionTypeSolver()).getType(returned).describe());
+    }
+
+    @Test
+    public void typeOfDeeplyNestedExpression() {
+        Expression nested = new NameExpr("x");
+        for (int i = 0; i < CONCATENATION_TERMS; i++) {
+            if (i % 4 == 0) {
+                nested = new MethodCallExpr(null, "max", NodeList.nodeList(new NameExpr("x"), nested));
+            } else if (i % 4 == 1) {
+                nested = new BinaryExpr(new NameExpr("x"), new EnclosedExpr(nested), BinaryExpr.Operator.PLUS);
+            } else if (i % 4 == 2) {
+                nested = new UnaryExpr(new EnclosedExpr(nested), UnaryExpr.Operator.MINUS);
+            } else {
+                nested = new ConditionalExpr(new BooleanLiteralExpr(true), new EnclosedExpr(nested), new NameExpr("x"));
+            }
+        }
+        Expression returned = returned("int max(int a, int b) { return a; } int foo(int x)", nested);
+
+        assertEquals("int", JavaParserFacade.get(new ReflectionTypeSolver()).getType(returned).describe());
+    }
+
+    @Test
+    public void typesAndSymbolsCachedDoNotKeepTheNodesAlive() throws InterruptedException {
+        JavaParserFacade javaParserFacade = JavaParserFacade.get(new ReflectionTypeSolver());
+        WeakReference<CompilationUnit> cu = solveReferencesToItself(javaParserFacade);
+
+        for (int i = 0; i < 100 && cu.get() != null; i++) {
+            System.gc();
+            Thread.sleep(10);
+        }
+        assertEquals(null, cu.get());
+    }
+
+    /**
+     * Type expressions and solve symbols declared in the compilation unit itself, so that the types and the symbols
+     * cached reference the compilation unit.
+     */
+    private WeakReference<CompilationUnit> solveReferencesToItself(JavaParserFacade javaParserFacade) {
+        CompilationUnit cu = JavaParser.parse("class A { A other; A foo() { return other.foo(); } }");
+        MethodCallExpr call = Navigator.findAllNodesOfGivenClass(cu, MethodCallExpr.class).get(0);
+        assertEquals("A", javaParserFacade.getType(call).describe());
+        assertEquals("A", javaParserFacade.getType(call.getScope().get(), false).describe());
+        assertEquals("foo", javaParserFacade.solve(call).getCorrespondingDeclaration().getName());
+        assertEquals("other", javaParserFacade.solve(call.getScope().get()).getCorrespondingDeclaration().getName());
+        return new WeakReference<>(cu);
+    }
+
+    @Test
+    public void facadesDroppedByClearInstancesAreNotKeptByTheNodes() throws InterruptedException {
+        TypeSolver typeSolver = new ReflectionTypeSolver();
+        CompilationUnit cu = JavaParser.parse("class A { A other; A foo() { return other.foo(); } }");
+        MethodCallExpr call = Navigator.findAllNodesOfGivenClass(cu, MethodCallExpr.class).get(0);
+        WeakReference<JavaParserFacade> dropped = typeAndClearInstances(typeSolver, call);
+
+        assertEquals("A", JavaParserFacade.get(typeSolver).getType(call).describe());
+        for (int i = 0; i < 100 && dropped.get() != null; i++) {
+            System.gc();
+            Thread.sleep(10);
+        }
+        assertEquals(null, dropped.get());
+    }
+
+    private WeakReference<JavaParserFacade> typeAndClearInstances(TypeSolver typeSolver, MethodCallExpr call) {
+        JavaParserFacade javaParserFacade = JavaParserFacade.get(typeSolver);
+        assertEquals("A", javaParserFacade.getType(call).describe());
+        JavaParserFacade.clearInstances();
+        return new WeakReference<>(javaParserFacade);
+    }
 }
@@ -30,6 +30,7 @@ import com.github.javaparser.symbolsolver.resolution.typesolvers.ReflectionTypeS
 import org.junit.Test;
 
 import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertSame;
 
 public class LambdaResolutionTest extends AbstractResolutionTest {
 
@@ -47,6 +48,23 @@ public class LambdaResolutionTest extends AbstractResolutionTest {
         assertEquals("java.util.function.Function<? super java.lang.String, ? extends java.lang.String>", type.describe());
     }
 
+    @Test
+    public void duplicateLambdaIsFoundInTheCache() throws ParseException {
+        CompilationUnit cu = parseSample("Lambda");
+        com.github.javaparser.ast.body.ClassOrInterfaceDeclaration clazz = Navigator.demandClass(cu, "Agenda");
+        MethodDeclaration method = Navigator.demandMethod(clazz, "lambdaMap");
+        ReturnStmt returnStmt = Navigator.findReturnStmt(method);
+        MethodCallExpr methodCallExpr = (MethodCallExpr) returnStmt.getExpression().get();
+        LambdaExpr lambdaExpr = (LambdaExpr) methodCallExpr.getArguments().get(0);
+        LambdaExpr duplicate = lambdaExpr.clone();
+        duplicate.setRange(lambdaExpr.getRange().get());
+        duplicate.setParentNode(methodCallExpr);
+
+        JavaParserFacade javaParserFacade = JavaParserFacade.get(new ReflectionTypeSolver());
+        Type type = javaParserFacade.getType(lambdaExpr, false);
+        assertSame(type, javaParserFacade.getType(duplicate, false));
+    }
+
     @Test
     public void personsStream() throws ParseException {
         CompilationUnit cu = parseSample("Lambda");
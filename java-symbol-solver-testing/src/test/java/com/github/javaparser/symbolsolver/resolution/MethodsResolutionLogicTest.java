@@ -17,8 +17,12 @@
 package com.github.javaparser.symbolsolver.resolution;
 
 import com.github.javaparser.symbolsolver.javaparsermodel.declarations.JavaParserClassDeclaration;
+import com.github.javaparser.symbolsolver.model.declarations.MethodDeclaration;
+import com.github.javaparser.symbolsolver.model.declarations.ReferenceTypeDeclaration;
+import com.github.javaparser.symbolsolver.model.resolution.SymbolReference;
 import com.github.javaparser.symbolsolver.model.resolution.TypeSolver;
 import com.github.javaparser.symbolsolver.model.methods.MethodUsage;
+import com.github.javaparser.symbolsolver.model.typesystem.PrimitiveType;
 import com.github.javaparser.symbolsolver.model.typesystem.ReferenceType;
 import com.github.javaparser.symbolsolver.reflectionmodel.ReflectionFactory;
 import com.github.javaparser.symbolsolver.resolution.typesolvers.CombinedTypeSolver;
@@ -31,6 +35,7 @@ import org.junit.Test;
 import java.io.File;
 
 import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertSame;
 
 public class MethodsResolutionLogicTest extends AbstractResolutionTest {
 
@@ -80,4 +85,21 @@ public class MethodsResolutionLogicTest extends AbstractResolutionTest {
 
         assertEquals(true, MethodResolutionLogic.isApplicable(mu, "isThrows", ImmutableList.of(classOfRuntimeType), typeSolver));
     }
+
+    @Test
+    public void solveMethodInTypeReusesTheResultOfTheSameInvocation() {
+        ReferenceTypeDeclaration stringBuilder = typeSolver.solveType("java.lang.StringBuilder");
+
+        SymbolReference<MethodDeclaration> appendString = MethodResolutionLogic.solveMethodInType(stringBuilder, "append",
+                ImmutableList.of(ReflectionFactory.typeUsageFor(String.class, typeSolver)), typeSolver);
+        assertEquals(true, appendString.isSolved());
+        assertEquals("java.lang.String", appendString.getCorrespondingDeclaration().getParam(0).getType().describe());
+        assertSame(appendString, MethodResolutionLogic.solveMethodInType(stringBuilder, "append",
+                ImmutableList.of(ReflectionFactory.typeUsageFor(String.class, typeSolver)), typeSolver));
+
+        SymbolReference<MethodDeclaration> appendInt = MethodResolutionLogic.solveMethodInType(stringBuilder, "append",
+                ImmutableList.of(PrimitiveType.INT), typeSolver);
+        assertEquals(true, appendInt.isSolved());
+        assertEquals("int", appendInt.getCorrespondingDeclaration().getParam(0).getType().describe());
+    }
 }
@@ -16,13 +16,18 @@
 
 package com.github.javaparser.symbolsolver.resolution;
 
+import com.github.javaparser.JavaParser;
 import com.github.javaparser.ParseException;
 import com.github.javaparser.ast.CompilationUnit;
 import com.github.javaparser.ast.body.MethodDeclaration;
+import com.github.javaparser.ast.expr.AssignExpr;
 import com.github.javaparser.ast.expr.MethodCallExpr;
 import com.github.javaparser.ast.expr.NameExpr;
+import com.github.javaparser.ast.expr.VariableDeclarationExpr;
+import com.github.javaparser.ast.stmt.ExpressionStmt;
 import com.github.javaparser.symbolsolver.javaparser.Navigator;
 import com.github.javaparser.symbolsolver.javaparsermodel.JavaParserFacade;
+import com.github.javaparser.symbolsolver.javaparsermodel.JavaParserFactory;
 import com.github.javaparser.symbolsolver.model.declarations.ValueDeclaration;
 import com.github.javaparser.symbolsolver.model.resolution.SymbolReference;
 import com.github.javaparser.symbolsolver.model.resolution.TypeSolver;
@@ -105,4 +110,57 @@ public class StatementContextResolutionTest extends AbstractResolutionTest {
         assertEquals("add", methodUsage.getName());
     }
 
+    @Test
+    public void resolveLocalVariableAfterTheBlockIsChanged() {
+        CompilationUnit cu = JavaParser.parse("class A { void foo() { int a = 0; long b = 1; String c = \"\"; b = 2; } }");
+        MethodDeclaration method = Navigator.demandMethod(Navigator.demandClass(cu, "A"), "foo");
+        NameExpr nameExpr = (NameExpr) ((AssignExpr) ((ExpressionStmt) method.getBody().get().getStatement(3)).getExpression()).getTarget();
+        TypeSolver typeSolver = new ReflectionTypeSolver();
+
+        SymbolReference<? extends ValueDeclaration> ref = JavaParserFactory.getContext(nameExpr, typeSolver).solveSymbol("b", typeSolver);
+        assertTrue(ref.isSolved());
+        assertEquals("long", ref.getCorrespondingDeclaration().getType().describe());
+        assertEquals(false, JavaParserFactory.getContext(nameExpr, typeSolver).solveSymbol("d", typeSolver).isSolved());
+
+        method.getBody().get().addStatement(3, JavaParser.parseStatement("Object d = null;"));
+
+        assertEquals("java.lang.Object", JavaParserFactory.getContext(nameExpr, typeSolver).solveSymbol("d", typeSolver).getCorrespondingDeclaration().getType().describe());
+        assertEquals("long", JavaParserFactory.getContext(nameExpr, typeSolver).solveSymbol("b", typeSolver).getCorrespondingDeclaration().getType().describe());
+    }
+
+    @Test
+    public void resolveLocalVariableAfterItIsRenamed() {
+        CompilationUnit cu = JavaParser.parse("class A { void foo() { int a = 0; long b = 1; b = 2; } }");
+        MethodDeclaration method = Navigator.demandMethod(Navigator.demandClass(cu, "A"), "foo");
+        NameExpr nameExpr = (NameExpr) ((AssignExpr) ((ExpressionStmt) method.getBody().get().getStatement(2)).getExpression()).getTarget();
+        VariableDeclarationExpr declarationOfB = (VariableDeclarationExpr) ((ExpressionStmt) method.getBody().get().getStatement(1)).getExpression();
+        TypeSolver typeSolver = new ReflectionTypeSolver();
+        assertEquals(true, JavaParserFactory.getContext(nameExpr, typeSolver).solveSymbol("b", typeSolver).isSolved());
+        assertEquals(false, JavaParserFactory.getContext(nameExpr, typeSolver).solveSymbol("d", typeSolver).isSolved());
+
+        declarationOfB.getVariable(0).setName("d");
+
+        assertEquals(false, JavaParserFactory.getContext(nameExpr, typeSolver).solveSymbol("b", typeSolver).isSolved());
+        assertEquals("long", JavaParserFactory.getContext(nameExpr, typeSolver).solveSymbol("d", typeSolver).getCorrespondingDeclaration().getType().describe());
+
+        declarationOfB.getVariable(0).getName().setIdentifier("e");
+        assertEquals(false, JavaParserFactory.getContext(nameExpr, typeSolver).solveSymbol("d", typeSolver).isSolved());
+        assertEquals(true, JavaParserFactory.getContext(nameExpr, typeSolver).solveSymbol("e", typeSolver).isSolved());
+
+        ((ExpressionStmt) method.getBody().get().getStatement(0)).setExpression(JavaParser.parseExpression("b = 3"));
+        assertEquals(false, JavaParserFactory.getContext(nameExpr, typeSolver).solveSymbol("a", typeSolver).isSolved());
+    }
+
+    @Test
+    public void resolveLocalVariableInBlockWithEqualStatements() {
+        CompilationUnit cu = JavaParser.parse("class A { void foo() { b = 2; long b = 1; b = 2; } }");
+        MethodDeclaration method = Navigator.demandMethod(Navigator.demandClass(cu, "A"), "foo");
+        TypeSolver typeSolver = new ReflectionTypeSolver();
+        NameExpr first = (NameExpr) ((AssignExpr) ((ExpressionStmt) method.getBody().get().getStatement(0)).getExpression()).getTarget();
+        NameExpr last = (NameExpr) ((AssignExpr) ((ExpressionStmt) method.getBody().get().getStatement(2)).getExpression()).getTarget();
+
+        assertEquals(false, JavaParserFactory.getContext(first, typeSolver).solveSymbol("b", typeSolver).isSolved());
+        assertEquals(true, JavaParserFactory.getContext(last, typeSolver).solveSymbol("b", typeSolver).isSolved());
+    }
+
 }
@@ -0,0 +1,86 @@
+/*
+ * Copyright 2016 Federico Tomassetti
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.github.javaparser.symbolsolver.resolution.typesolvers;
+
+import com.github.javaparser.symbolsolver.model.declarations.ReferenceTypeDeclaration;
+import com.github.javaparser.symbolsolver.model.resolution.SymbolReference;
+import com.github.javaparser.symbolsolver.reflectionmodel.ReflectionClassDeclaration;
+import org.junit.Test;
+
+import static org.junit.Assert.assertEquals;
+
+public class CombinedTypeSolverTest {
+
+    private static class CountingTypeSolver extends MemoryTypeSolver {
+        private int lookups = 0;
+
+        @Override
+        public SymbolReference<ReferenceTypeDeclaration> tryToSolveType(String name) {
+            lookups++;
+            return super.tryToSolveType(name);
+        }
+    }
+
+    @Test
+    public void solvedNamesAreRoutedToTheElementWhichSolvedThem() {
+        CountingTypeSolver first = new CountingTypeSolver();
+        CountingTypeSolver second = new CountingTypeSolver();
+        second.addDeclaration("foo.Bar", new ReflectionClassDeclaration(String.class, second));
+        CombinedTypeSolver combinedTypeSolver = new CombinedTypeSolver(first, second);
+
+        assertEquals(true, combinedTypeSolver.tryToSolveType("foo.Bar").isSolved());
+        assertEquals(true, combinedTypeSolver.tryToSolveType("foo.Bar").isSolved());
+        assertEquals(1, first.lookups);
+        assertEquals(2, second.lookups);
+    }
+
+    @Test
+    public void unsolvedNamesAreRemembered() {
+        CountingTypeSolver element = new CountingTypeSolver();
+        CombinedTypeSolver combinedTypeSolver = new CombinedTypeSolver(element);
+
+        assertEquals(false, combinedTypeSolver.tryToSolveType("foo.Bar").isSolved());
+        assertEquals(false, combinedTypeSolver.tryToSolveType("foo.Bar").isSolved());
+        assertEquals(1, element.lookups);
+
+        combinedTypeSolver.invalidateCache();
+        assertEquals(false, combinedTypeSolver.tryToSolveType("foo.Bar").isSolved());
+        assertEquals(2, element.lookups);
+    }
+
+    @Test
+    public void addingAnElementInvalidatesUnsolvedNames() {
+        CombinedTypeSolver combinedTypeSolver = new CombinedTypeSolver(new CountingTypeSolver());
+        assertEquals(false, combinedTypeSolver.tryToSolveType("foo.Bar").isSolved());
+
+        MemoryTypeSolver added = new MemoryTypeSolver();
+        added.addDeclaration("foo.Bar", new ReflectionClassDeclaration(String.class, added));
+        combinedTypeSolver.add(added);
+        assertEquals(true, combinedTypeSolver.tryToSolveType("foo.Bar").isSolved());
+    }
+
+    @Test
+    public void unsolvedCacheCanBeDisabled() {
+        CountingTypeSolver element = new CountingTypeSolver();
+        CombinedTypeSolver combinedTypeSolver = new CombinedTypeSolver(0, element);
+
+        combinedTypeSolver.tryToSolveType("foo.Bar");
+        combinedTypeSolver.tryToSolveType("foo.Bar");
+        assertEquals(2, element.lookups);
+    }
+
+}
@@ -17,15 +17,25 @@
 package com.github.javaparser.symbolsolver.resolution.typesolvers;
 
 import com.github.javaparser.symbolsolver.AbstractTest;
+import org.junit.Rule;
 import org.junit.Test;
+import org.junit.rules.TemporaryFolder;
 
+import java.io.File;
 import java.io.IOException;
+import java.nio.file.Files;
 
 import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertNotNull;
+import static org.junit.Assert.assertNull;
+import static org.junit.Assert.assertSame;
 
 
 public class JarTypeSolverTest extends AbstractTest {
 
+    @Rule
+    public TemporaryFolder temporaryFolder = new TemporaryFolder();
+
     @Test
     public void initial() throws IOException {
         String pathToJar = adaptPath("src/test/resources/javaparser-core-2.1.0.jar");
@@ -38,4 +48,51 @@ public class JarTypeSolverTest extends AbstractTest {
         assertEquals(false, jarTypeSolver.tryToSolveType("Foo").isSolved());
     }
 
+    @Test
+    public void solvedTypesAreCached() throws IOException {
+        String pathToJar = adaptPath("src/test/resources/javaparser-core-2.1.0.jar");
+        JarTypeSolver jarTypeSolver = new JarTypeSolver(pathToJar);
+        assertSame(jarTypeSolver.solveType("com.github.javaparser.Token"), jarTypeSolver.solveType("com.github.javaparser.Token"));
+        assertSame(jarTypeSolver.solveType("com.github.javaparser.ASTParser.JJCalls"), jarTypeSolver.solveType("com.github.javaparser.ASTParser.JJCalls"));
+    }
+
+    @Test
+    public void classNamesAreStoredInTheIndexDirectory() throws IOException {
+        File jar = new File(temporaryFolder.getRoot(), "javaparser-core-2.1.0.jar");
+        Files.copy(new File(adaptPath("src/test/resources/javaparser-core-2.1.0.jar")).toPath(), jar.toPath());
+        File indexDirectory = new File(temporaryFolder.getRoot(), "index");
+
+        new JarTypeSolver(jar.getPath(), indexDirectory).close();
+        assertEquals(true, JarIndexFile.indexFileFor(indexDirectory, jar).isFile());
+        JarIndexFile indexFile = JarIndexFile.load(indexDirectory, jar);
+        assertNotNull(indexFile);
+        assertEquals("com/github/javaparser/ASTParser$JJCalls.class", indexFile.findEntry("com.github.javaparser.ASTParser.JJCalls"));
+        assertEquals(null, indexFile.findEntry("com.github.javaparser.Foo"));
+
+        JarTypeSolver jarTypeSolver = new JarTypeSolver(jar.getPath(), indexDirectory);
+        assertEquals(true, jarTypeSolver.tryToSolveType("com.github.javaparser.SourcesHelper").isSolved());
+        assertEquals(true, jarTypeSolver.tryToSolveType("com.github.javaparser.ASTParser.JJCalls").isSolved());
+        assertEquals(false, jarTypeSolver.tryToSolveType("com.github.javaparser.Foo").isSolved());
+        assertEquals("com.github.javaparser.ast.body.BodyDeclaration", jarTypeSolver.solveType("com.github.javaparser.ast.body.TypeDeclaration")
+                .getAncestors().get(0).getQualifiedName());
+        jarTypeSolver.close();
+
+        // A modified jar is indexed again
+        assertEquals(true, jar.setLastModified(jar.lastModified() - 60_000));
+        assertNull(JarIndexFile.load(indexDirectory, jar));
+        new JarTypeSolver(jar.getPath(), indexDirectory).close();
+        assertNotNull(JarIndexFile.load(indexDirectory, jar));
+    }
+
+    @Test
+    public void solverWorksWhenTheIndexCannotBeStored() throws IOException {
+        // The index directory cannot be created, as a file with the same name exists
+        File indexDirectory = temporaryFolder.newFile("index");
+        String pathToJar = adaptPath("src/test/resources/javaparser-core-2.1.0.jar");
+        JarTypeSolver jarTypeSolver = new JarTypeSolver(pathToJar, indexDirectory);
+        assertEquals(true, jarTypeSolver.tryToSolveType("com.github.javaparser.ASTParser.JJCalls").isSolved());
+        assertEquals(false, jarTypeSolver.tryToSolveType("com.github.javaparser.Foo").isSolved());
+        jarTypeSolver.close();
+    }
+
 }
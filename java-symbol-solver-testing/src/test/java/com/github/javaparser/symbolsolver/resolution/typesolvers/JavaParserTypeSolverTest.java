@@ -0,0 +1,189 @@
+/*
+ * Copyright 2016 Federico Tomassetti
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.github.javaparser.symbolsolver.resolution.typesolvers;
+
+import com.github.javaparser.JavaParser;
+import com.github.javaparser.ast.body.ClassOrInterfaceDeclaration;
+import com.github.javaparser.ast.expr.ObjectCreationExpr;
+import com.github.javaparser.symbolsolver.AbstractTest;
+import com.github.javaparser.symbolsolver.javaparser.Navigator;
+import com.github.javaparser.symbolsolver.javaparsermodel.JavaParserFacade;
+import com.github.javaparser.symbolsolver.javaparsermodel.JavaParserFactory;
+import com.github.javaparser.symbolsolver.javaparsermodel.declarations.JavaParserClassDeclaration;
+import com.github.javaparser.symbolsolver.model.typesystem.Type;
+import org.junit.Test;
+
+import java.io.File;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertNotSame;
+import static org.junit.Assert.assertSame;
+
+public class JavaParserTypeSolverTest extends AbstractTest {
+
+    private static final File src = adaptPath(new File("src/test/resources/javaparser_src/proper_source"));
+
+    @Test
+    public void indexedSolverFindsTopLevelAndNestedTypes() {
+        JavaParserTypeSolver typeSolver = new JavaParserTypeSolver(src);
+        typeSolver.buildIndex();
+        assertEquals(true, typeSolver.isIndexed());
+        assertEquals(true, typeSolver.tryToSolveType("com.github.javaparser.ast.CompilationUnit").isSolved());
+        assertEquals(true, typeSolver.tryToSolveType("com.github.javaparser.ast.type.PrimitiveType.Primitive").isSolved());
+        assertEquals(true, typeSolver.tryToSolveType("com.github.javaparser.ast.visitor.DumpVisitor.SourcePrinter").isSolved());
+        assertEquals(false, typeSolver.tryToSolveType("com.github.javaparser.ast.Foo").isSolved());
+        assertEquals(false, typeSolver.tryToSolveType("java.lang.String").isSolved());
+        assertEquals(false, typeSolver.tryToSolveType("Foo").isSolved());
+    }
+
+    @Test
+    public void indexedSolverAgreesWithNonIndexedSolver() {
+        JavaParserTypeSolver indexed = new JavaParserTypeSolver(src);
+        indexed.buildIndex();
+        JavaParserTypeSolver notIndexed = new JavaParserTypeSolver(src);
+        assertEquals(false, notIndexed.isIndexed());
+        for (String name : new String[]{"com.github.javaparser.ast.Node", "com.github.javaparser.ast.body.ModifierSet",
+                "com.github.javaparser.ast.expr.BinaryExpr.Operator", "com.github.javaparser.ast.NotExisting"}) {
+            assertEquals(name, notIndexed.tryToSolveType(name).isSolved(), indexed.tryToSolveType(name).isSolved());
+            if (indexed.tryToSolveType(name).isSolved()) {
+                assertEquals(notIndexed.solveType(name).getQualifiedName(), indexed.solveType(name).getQualifiedName());
+            }
+        }
+    }
+
+    @Test
+    public void changedAndDeletedFilesAreConsidered() throws IOException {
+        changedAndDeletedFilesAreConsidered(false);
+    }
+
+    @Test
+    public void changedAndDeletedFilesAreConsideredByIndexedSolver() throws IOException {
+        changedAndDeletedFilesAreConsidered(true);
+    }
+
+    private void changedAndDeletedFilesAreConsidered(boolean indexed) throws IOException {
+        File dir = Files.createTempDirectory("javaparsertypesolver").toFile();
+        File pkg = new File(dir, "foo");
+        pkg.mkdir();
+        File otherPkg = new File(dir, "bar");
+        otherPkg.mkdir();
+        File a = new File(pkg, "A.java");
+        File b = new File(pkg, "B.java");
+        File d = new File(otherPkg, "D.java");
+        try {
+            write(a, "package foo; public class A { }");
+            write(b, "package foo; public class B extends A { Object o = new Object(); }");
+            write(d, "package bar; public class D { Object o = new Object(); }");
+            JavaParserTypeSolver javaParserTypeSolver = new JavaParserTypeSolver(dir);
+            if (indexed) {
+                javaParserTypeSolver.buildIndex();
+            }
+            CombinedTypeSolver typeSolver = new CombinedTypeSolver(new ReflectionTypeSolver(), javaParserTypeSolver);
+            assertEquals(true, typeSolver.tryToSolveType("foo.A").isSolved());
+            assertEquals(false, typeSolver.tryToSolveType("foo.C").isSolved());
+            JavaParserClassDeclaration bBeforeChange = (JavaParserClassDeclaration) typeSolver.solveType("foo.B");
+            assertEquals("foo.A", bBeforeChange.getSuperClass().getQualifiedName());
+            assertEquals(2, bBeforeChange.getAllAncestors().size());
+            JavaParserClassDeclaration unrelated = (JavaParserClassDeclaration) typeSolver.solveType("bar.D");
+            JavaParserFacade javaParserFacade = JavaParserFacade.get(typeSolver);
+            ObjectCreationExpr inB = Navigator.findAllNodesOfGivenClass(bBeforeChange.getWrappedNode(), ObjectCreationExpr.class).get(0);
+            ObjectCreationExpr inD = Navigator.findAllNodesOfGivenClass(unrelated.getWrappedNode(), ObjectCreationExpr.class).get(0);
+            Type typeInB = javaParserFacade.getType(inB);
+            Type typeInD = javaParserFacade.getType(inD);
+
+            write(a, "package foo; public class A { } class C { }");
+            javaParserTypeSolver.fileChanged(a);
+            assertEquals(true, typeSolver.tryToSolveType("foo.A").isSolved());
+            assertEquals(true, typeSolver.tryToSolveType("foo.C").isSolved());
+            // B has not been parsed again, but its declaration has been recalculated
+            JavaParserClassDeclaration bAfterChange = (JavaParserClassDeclaration) typeSolver.solveType("foo.B");
+            assertNotSame(bBeforeChange, bAfterChange);
+            assertSame(bBeforeChange.getWrappedNode(), bAfterChange.getWrappedNode());
+            // D does not depend on A, so it is still the same declaration and the types calculated in it are kept
+            assertSame(unrelated, typeSolver.solveType("bar.D"));
+            assertSame(typeInD, javaParserFacade.getType(inD));
+            assertNotSame(typeInB, javaParserFacade.getType(inB));
+
+            a.delete();
+            javaParserTypeSolver.fileDeleted(a);
+            assertEquals(false, typeSolver.tryToSolveType("foo.A").isSolved());
+            assertEquals(false, typeSolver.tryToSolveType("foo.C").isSolved());
+            assertEquals(true, typeSolver.tryToSolveType("foo.B").isSolved());
+            assertSame(unrelated, typeSolver.solveType("bar.D"));
+        } finally {
+            a.delete();
+            b.delete();
+            d.delete();
+            pkg.delete();
+            otherPkg.delete();
+            dir.delete();
+        }
+    }
+
+    @Test
+    public void subtypesNotFoundBySolverSeeTheChangesOfTheirSupertypes() throws IOException {
+        File dir = Files.createTempDirectory("javaparsertypesolver").toFile();
+        File pkg = new File(dir, "foo");
+        pkg.mkdir();
+        File a = new File(pkg, "A.java");
+        try {
+            write(a, "package foo; public class A { }");
+            JavaParserTypeSolver javaParserTypeSolver = new JavaParserTypeSolver(dir);
+            CombinedTypeSolver typeSolver = new CombinedTypeSolver(new ReflectionTypeSolver(), javaParserTypeSolver);
+            ClassOrInterfaceDeclaration e = Navigator.demandClass(JavaParser.parse("class E extends foo.A { }"), "E");
+            JavaParserClassDeclaration declarationOfE = (JavaParserClassDeclaration) JavaParserFactory.toTypeDeclaration(e, typeSolver);
+            assertEquals(false, declarationOfE.getAllMethods().stream().anyMatch(m -> m.getName().equals("foo")));
+
+            write(a, "package foo; public class A { void foo() { } }");
+            javaParserTypeSolver.fileChanged(a);
+            assertEquals(true, declarationOfE.getAllMethods().stream().anyMatch(m -> m.getName().equals("foo")));
+        } finally {
+            a.delete();
+            pkg.delete();
+            dir.delete();
+        }
+    }
+
+    @Test
+    public void declarationsRemainValidWhenTheirAstIsEvicted() {
+        // No AST is retained: each file is parsed again whenever it is needed
+        JavaParserTypeSolver javaParserTypeSolver = new JavaParserTypeSolver(src, 0, false);
+        CombinedTypeSolver typeSolver = new CombinedTypeSolver(new ReflectionTypeSolver(), javaParserTypeSolver);
+        JavaParserClassDeclaration compilationUnit = (JavaParserClassDeclaration) typeSolver.solveType("com.github.javaparser.ast.CompilationUnit");
+        assertEquals("com.github.javaparser.ast.Node", compilationUnit.getSuperClass().getQualifiedName());
+        assertEquals(true, compilationUnit.getAllMethods().stream().anyMatch(m -> m.getName().equals("getTypes")));
+        assertEquals(true, typeSolver.tryToSolveType("com.github.javaparser.ast.expr.BinaryExpr.Operator").isSolved());
+        assertEquals(false, typeSolver.tryToSolveType("com.github.javaparser.ast.NotExisting").isSolved());
+        assertEquals("com.github.javaparser.ast.CompilationUnit", typeSolver.solveType("com.github.javaparser.ast.CompilationUnit").getQualifiedName());
+    }
+
+    @Test
+    public void softlyReferencedAstsAreReused() {
+        JavaParserTypeSolver javaParserTypeSolver = new JavaParserTypeSolver(src, JavaParserTypeSolver.UNLIMITED, true);
+        JavaParserClassDeclaration first = (JavaParserClassDeclaration) javaParserTypeSolver.solveType("com.github.javaparser.ast.Node");
+        JavaParserClassDeclaration second = (JavaParserClassDeclaration) javaParserTypeSolver.solveType("com.github.javaparser.ast.Node");
+        assertSame(first.getWrappedNode(), second.getWrappedNode());
+    }
+
+    private static void write(File file, String code) throws IOException {
+        Files.write(file.toPath(), code.getBytes(StandardCharsets.UTF_8));
+    }
+
+}
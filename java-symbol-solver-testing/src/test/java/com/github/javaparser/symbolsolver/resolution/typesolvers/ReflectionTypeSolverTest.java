@@ -0,0 +1,61 @@
+/*
+ * Copyright 2016 Federico Tomassetti
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.github.javaparser.symbolsolver.resolution.typesolvers;
+
+import com.github.javaparser.symbolsolver.AbstractTest;
+import com.github.javaparser.symbolsolver.resolution.Instrumentation;
+import com.github.javaparser.symbolsolver.resolution.ResolutionListener;
+import org.junit.Test;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertSame;
+
+public class ReflectionTypeSolverTest extends AbstractTest {
+
+    @Test
+    public void solvedTypesAreCached() {
+        ReflectionTypeSolver typeSolver = new ReflectionTypeSolver();
+        assertSame(typeSolver.solveType("java.lang.String"), typeSolver.solveType("java.lang.String"));
+        assertSame(typeSolver.solveType("java.util.Map.Entry"), typeSolver.solveType("java.util.Map.Entry"));
+    }
+
+    @Test
+    public void unsolvedTypesAreCached() {
+        ReflectionTypeSolver typeSolver = new ReflectionTypeSolver();
+        List<Boolean> lookups = new ArrayList<>();
+        Instrumentation.setListener(new ResolutionListener() {
+            @Override
+            public void cacheLookup(Cache cache, boolean hit) {
+                lookups.add(hit);
+            }
+        });
+        try {
+            assertEquals(false, typeSolver.tryToSolveType("java.lang.Foo").isSolved());
+            lookups.clear();
+            assertEquals(false, typeSolver.tryToSolveType("java.lang.Foo").isSolved());
+            assertEquals(Arrays.asList(true), lookups);
+            assertEquals(false, typeSolver.tryToSolveType("com.github.javaparser.ast.Node").isSolved());
+        } finally {
+            Instrumentation.setListener(null);
+        }
+    }
+
+}